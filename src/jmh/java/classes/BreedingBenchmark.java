@@ -0,0 +1,93 @@
+package classes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the steps of breeding a generation besides the crossover and the selection: the mutation, the
+ * commands added to the chromosomes which used all of their commands, and the elitism sort. The mutation frequency
+ * is 1, so every operation mutates the chromosome.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BreedingBenchmark {
+
+    @Param("World_1_Stage_1/1653651150575")
+    public String importFile;
+
+    private GeneticAlgorithm ga;
+    private Generation generation;
+    private Genome[] genomes;
+    private Chromosome[] chromosomes;
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws IOException {
+        GaConfig config = ImportedGenomes.config("MUTATION_FREQUENCY", "1");
+        this.ga = GeneticAlgorithm.newPopulation(config, "benchmark");
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+
+        List<Genome> imported = ImportedGenomes.read(this.importFile);
+        this.genomes = imported.toArray(new Genome[0]);
+        this.chromosomes = new Chromosome[this.genomes.length];
+        for (int i = 0; i < this.genomes.length; i++) {
+            this.chromosomes[i] = new Chromosome();
+            this.chromosomes[i].setInputs(this.genomes[i]);
+            this.chromosomes[i].setFitnessValue(random.nextDouble() * 1000000);
+        }
+
+        this.generation = new Generation(config);
+        this.generation.setGeneration(new ArrayList<>(Arrays.asList(this.chromosomes)));
+    }
+
+    /**
+     * Mutates a chromosome, which is left as it was.
+     */
+    @Benchmark
+    public Chromosome mutate() {
+        return this.ga.mutate(this.chromosomes[next()]);
+    }
+
+    /**
+     * Adds 100 to 200 blocks of commands to a chromosome, reset to its imported commands each time.
+     */
+    @Benchmark
+    public Chromosome addMoreCommands() {
+        int i = next();
+        this.chromosomes[i].setInputs(this.genomes[i]);
+        return this.ga.addMoreCommands(this.chromosomes[i]);
+    }
+
+    /**
+     * Sorts the population to keep its fittest chromosomes in the next generation.
+     */
+    @Benchmark
+    public List<Chromosome> elitism() {
+        return this.ga.elite(this.generation);
+    }
+
+    private int next() {
+        this.next = this.next + 1 == this.genomes.length ? 0 : this.next + 1;
+        return this.next;
+    }
+}
@@ -0,0 +1,68 @@
+package classes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of each crossover type on pairs of imported chromosomes. The crossover frequency is 1, so every
+ * operation crosses the parents.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrossoverBenchmark {
+
+    @Param("World_1_Stage_1/1653651150575")
+    public String importFile;
+
+    @Param({"ONE_POINT", "MULTI_POINT", "UNIFORM", "SEGMENT"})
+    public String crossoverType;
+
+    private GeneticAlgorithm ga;
+    private Chromosome[] parents;
+    private SplittableRandom random;
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws IOException {
+        GaConfig config = ImportedGenomes.config("CROSSOVER_TYPE", this.crossoverType, "CROSSOVER_FREQUENCY", "1",
+                "CROSSOVER_MULTI_POINT_MIN", "0.00", "CROSSOVER_MULTI_POINT_MAX", "1.00");
+        this.ga = GeneticAlgorithm.newPopulation(config, "benchmark");
+        this.random = new SplittableRandom(config.getSeed());
+
+        List<Genome> genomes = ImportedGenomes.read(this.importFile);
+        this.parents = new Chromosome[genomes.size()];
+        for (int i = 0; i < genomes.size(); i++) {
+            this.parents[i] = new Chromosome();
+            this.parents[i].setInputs(genomes.get(i));
+        }
+    }
+
+    /**
+     * Crosses two parents into two children.
+     */
+    @Benchmark
+    public Chromosome[] crossover() {
+        Chromosome parent1 = this.parents[this.next];
+        this.next = this.next + 1 == this.parents.length ? 0 : this.next + 1;
+
+        return this.ga.crossover(parent1, this.parents[this.next], this.random);
+    }
+}
@@ -0,0 +1,85 @@
+package classes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of building genomes: splitting the commands into blocks, parsing the genomes of a file and converting
+ * them back into the commands of a request (<i>Main.convertToArray</i>).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenomeBenchmark {
+
+    @Param("World_1_Stage_1/1653651150575")
+    public String importFile;
+
+    private Genome[] genomes;
+    private String[] texts;
+    private int[][] commands;
+    private int next = 0;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Genome> imported = ImportedGenomes.read(this.importFile);
+        this.genomes = imported.toArray(new Genome[0]);
+        this.texts = new String[this.genomes.length];
+        this.commands = new int[this.genomes.length][];
+
+        for (int i = 0; i < this.genomes.length; i++) {
+            this.texts[i] = this.genomes[i].toString();
+
+            Integer[] request = this.genomes[i].toRequestArray();
+            this.commands[i] = new int[request.length];
+            for (int j = 0; j < request.length; j++) {
+                this.commands[i][j] = request[j];
+            }
+        }
+    }
+
+    /**
+     * Splits the commands of a chromosome into blocks of the same button.
+     */
+    @Benchmark
+    public Genome separateByBlocks() {
+        return Genome.of(this.commands[next()]);
+    }
+
+    /**
+     * Parses a genome as written in the import and log files.
+     */
+    @Benchmark
+    public Genome parse() {
+        return Genome.parse(this.texts[next()]);
+    }
+
+    /**
+     * Converts a genome into the commands of a request, as <i>Main.convertToArray</i> does.
+     */
+    @Benchmark
+    public Integer[] convertToArray() {
+        return this.genomes[next()].toRequestArray();
+    }
+
+    private int next() {
+        this.next = this.next + 1 == this.genomes.length ? 0 : this.next + 1;
+        return this.next;
+    }
+}
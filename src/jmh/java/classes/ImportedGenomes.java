@@ -0,0 +1,72 @@
+package classes;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Class that gives the benchmarks real genomes, read from the files of the <i>imports</i> directory, and
+ * configurations based on the <i>properties</i> file.
+ */
+final class ImportedGenomes {
+
+    private ImportedGenomes() {
+    }
+
+    /**
+     * This method reads every genome of an import file.
+     *
+     * @param importFile the file, relative to the <i>imports</i> directory and without extension
+     *                   (eg: <i>World_1_Stage_1/1653651150575</i>).
+     * @return the genomes, in the order of the file.
+     * @throws IOException if the file couldn't be read or has no genomes.
+     */
+    static List<Genome> read(String importFile) throws IOException {
+        List<Genome> genomes = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get("imports", importFile + ".txt"),
+                StandardCharsets.UTF_8)) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("SOLUTION: ")) {
+                    genomes.add(Genome.parse(line.substring("SOLUTION: ".length()).trim()));
+                }
+            }
+        }
+
+        if (genomes.size() < 2) {
+            throw new IOException("The import file " + importFile + " doesn't have enough genomes.");
+        }
+        return genomes;
+    }
+
+    /**
+     * This method creates a configuration from the <i>properties</i> file with some values replaced.
+     *
+     * @param overrides pairs of keys and values.
+     * @return the configuration.
+     * @throws IOException if the <i>properties</i> file couldn't be read.
+     */
+    static GaConfig config(String... overrides) throws IOException {
+        Properties props = new Properties();
+
+        try (InputStream input = GaConfig.class.getResourceAsStream("/GeneticAlgorithm.properties")) {
+            if (input == null) {
+                throw new IOException("The properties file is missing.");
+            }
+            props.load(input);
+        }
+
+        for (int i = 0; i + 1 < overrides.length; i += 2) {
+            props.setProperty(overrides[i], overrides[i + 1]);
+        }
+        return GaConfig.from(props);
+    }
+}
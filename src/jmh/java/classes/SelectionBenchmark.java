@@ -0,0 +1,84 @@
+package classes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of choosing the parents of a whole generation with each selection, over the imported chromosomes with
+ * random fitness values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionBenchmark {
+
+    @Param("World_1_Stage_1/1653651150575")
+    public String importFile;
+
+    @Param({"FITNESS_PROPORTIONATE", "STOCHASTIC", "TOURNAMENT", "TRUNCATION"})
+    public String selectionType;
+
+    private Selection selection;
+    private ArrayList<Chromosome> population;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() throws IOException {
+        GaConfig config = ImportedGenomes.config();
+        this.random = new SplittableRandom(config.getSeed());
+
+        switch (this.selectionType) {
+            case "STOCHASTIC":
+                this.selection = new StochasticSelection();
+                break;
+            case "TOURNAMENT":
+                this.selection = new TournamentSelection(config.getTournamentSize());
+                break;
+            case "TRUNCATION":
+                this.selection = new TruncationSelection(config.getTruncationRate());
+                break;
+            default:
+                this.selection = new FitnessProportionateSelection();
+        }
+
+        List<Genome> genomes = ImportedGenomes.read(this.importFile);
+        this.population = new ArrayList<>(genomes.size());
+        for (Genome genome : genomes) {
+            Chromosome tmp = new Chromosome();
+            tmp.setInputs(genome);
+            tmp.setFitnessValue(this.random.nextDouble() * 1000000);
+            this.population.add(tmp);
+        }
+    }
+
+    /**
+     * Chooses as many parents as the chromosomes of the population.
+     */
+    @Benchmark
+    public void selectGeneration(Blackhole blackhole) {
+        this.selection.prepare(this.population, this.population.size(), this.random);
+
+        for (int i = 0; i < this.population.size(); i++) {
+            blackhole.consume(this.selection.select(this.random));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package classes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Class that measures whole sessions against local stand-ins of the Mario server: the same generation loop as
+ * <i>Main</i> (evaluate, calculateFitness, queuing the replay of the best chromosome and breedNewGen, which stores
+ * the generation) for a few generations of each population size. The replays are played on the same stand-ins as the
+ * evaluation, as when there are no replay servers. It reports the evaluations and generations per
+ * second, the time of each phase and the peak heap, so a slow session can be told apart as the genetic algorithm,
+ * the files or the servers.
+ * <p>
+ * Options, as <i>key=value</i> arguments:
+ * <ul>
+ * <li><i>populations</i>, the population sizes (default 100,500,1000);</li>
+ * <li><i>generations</i>, the generations of each session (default 10);</li>
+ * <li><i>latency</i>, the milliseconds each run takes (default 20);</li>
+ * <li><i>servers</i>, the number of stand-ins (default 2);</li>
+ * <li><i>parallel</i>, the runs each stand-in plays at the same time (default 4);</li>
+ * <li><i>results</i>, the JSON file of the results (default throughput.json).</li>
+ * </ul>
+ */
+public final class ThroughputBenchmark {
+
+    private ThroughputBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split <= 0) {
+                throw new IllegalArgumentException("Expected key=value, not " + arg);
+            }
+            options.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+
+        int generations = Integer.parseInt(options.getOrDefault("generations", "10"));
+        int latency = Integer.parseInt(options.getOrDefault("latency", "20"));
+        int servers = Integer.parseInt(options.getOrDefault("servers", "2"));
+        int parallel = Integer.parseInt(options.getOrDefault("parallel", "4"));
+        String results = options.getOrDefault("results", "throughput.json");
+
+        System.out.println("Throughput: " + generations + " generations, " + servers + " stand-ins playing "
+                + parallel + " runs at a time, " + latency + " ms per run");
+
+        List<Session> sessions = new ArrayList<>();
+        for (String population : options.getOrDefault("populations", "100,500,1000").split(",")) {
+            Session session = run(Integer.parseInt(population.trim()), generations, latency, servers, parallel);
+            sessions.add(session);
+            System.out.println(session);
+        }
+
+        try (Writer out = Files.newBufferedWriter(Paths.get(results), StandardCharsets.UTF_8)) {
+            out.write("[\n");
+            for (int i = 0; i < sessions.size(); i++) {
+                out.write("  " + sessions.get(i).toJson() + (i + 1 < sessions.size() ? ",\n" : "\n"));
+            }
+            out.write("]\n");
+        }
+        System.out.println("Results written to " + Paths.get(results).toAbsolutePath());
+    }
+
+    /**
+     * Runs a session of a population against new stand-ins.
+     */
+    private static Session run(int population, int generations, int latency, int servers, int parallel)
+            throws IOException {
+        List<MarioStandIn> standIns = new ArrayList<>();
+        StringBuilder addresses = new StringBuilder();
+        for (int i = 0; i < servers; i++) {
+            MarioStandIn standIn = new MarioStandIn(0, latency, parallel);
+            standIns.add(standIn);
+            addresses.append(i == 0 ? "" : ",").append(standIn.getAddress());
+        }
+
+        GaConfig config = ImportedGenomes.config("POPULATION_SIZE", String.valueOf(population),
+                "SERVERS", addresses.toString(), "MAX_IN_FLIGHT", String.valueOf(servers * parallel),
+                "RENDER", "false");
+
+        MarioServerPool pool = MarioServerPool.fromAddresses(config.getServers(), config.getEjectAfterErrors(),
+                config.getEjectMillis());
+        ResultCache cache = new ResultCache(config.getCacheSize());
+        ChromosomeEvaluator evaluator = new ChromosomeEvaluator(config, pool, cache,
+                new OutcomePrefixTrie(config.getTrieNodes()));
+        GeneticAlgorithm ga = GeneticAlgorithm.newPopulation(config,
+                "throughput_" + population + "_" + System.currentTimeMillis());
+        ReplayQueue replays = new ReplayQueue(pool, config.getLevel(), config.getReplayQueueSize());
+
+        Session session = new Session(population, generations);
+        resetPeakHeap();
+
+        // the Mario client prints every response
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+
+        long start = System.nanoTime();
+        try {
+            for (int g = 0; g < generations; g++) {
+                long t0 = System.nanoTime();
+                evaluator.evaluate(ga.getCurrGen());
+                long t1 = System.nanoTime();
+                ga.calculateFitness();
+                long t2 = System.nanoTime();
+                replays.offer(ga.getBestFit());
+                long t3 = System.nanoTime();
+                ga.breedNewGen();
+                long t4 = System.nanoTime();
+
+                session.evaluate += t1 - t0;
+                session.fitness += t2 - t1;
+                session.replay += t3 - t2;
+                session.breed += t4 - t3;
+            }
+
+            // storing is part of breedNewGen, apart from the last generations written on close
+            session.breed -= ga.getStoreNanos();
+            ga.close();
+            replays.close();
+        } finally {
+            System.setOut(console);
+        }
+        session.total = System.nanoTime() - start;
+
+        session.store = ga.getStoreNanos();
+        session.peakHeap = peakHeap();
+        session.hitRate = cache.getHitRate();
+        session.replays = replays.getPlayed();
+        session.droppedReplays = replays.getDropped();
+        for (MarioStandIn standIn : standIns) {
+            session.runs += standIn.getEpisodes();
+        }
+
+        evaluator.close();
+        for (MarioStandIn standIn : standIns) {
+            standIn.close();
+        }
+        return session;
+    }
+
+    private static void resetPeakHeap() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    /**
+     * The measures of the session of a population, times in nanoseconds.
+     */
+    private static final class Session {
+
+        private final int population;
+        private final int generations;
+        private long total;
+        private long evaluate;
+        private long fitness;
+        private long replay;
+        private long breed;
+        private long store;
+        private long runs;
+        private long peakHeap;
+        private double hitRate;
+        private long replays;
+        private long droppedReplays;
+
+        Session(int population, int generations) {
+            this.population = population;
+            this.generations = generations;
+        }
+
+        double evaluationsPerSecond() {
+            return (double) this.population * this.generations / (this.total / 1e9);
+        }
+
+        double generationsPerSecond() {
+            return this.generations / (this.total / 1e9);
+        }
+
+        private String phase(String name, long nanos) {
+            return String.format(Locale.ROOT, "%s %.1f%% (%.2f s)", name, 100.0 * nanos / this.total, nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "Population %d: %.2f s, %.1f evaluations/s, %.3f generations/s, "
+                            + "%d server runs, %d replays (%d dropped), cache hit rate %.2f, peak heap %.1f MB%n  ",
+                    this.population, this.total / 1e9, evaluationsPerSecond(), generationsPerSecond(), this.runs,
+                    this.replays, this.droppedReplays, this.hitRate, this.peakHeap / (1024.0 * 1024.0))
+                    + phase("evaluate", this.evaluate) + " | " + phase("calculateFitness", this.fitness) + " | "
+                    + phase("replay", this.replay) + " | " + phase("breed", this.breed) + " | "
+                    + phase("dumpGenToFile", this.store);
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT, "{\"population\": %d, \"generations\": %d, \"seconds\": %.3f, "
+                            + "\"evaluationsPerSecond\": %.2f, \"generationsPerSecond\": %.4f, \"serverRuns\": %d, "
+                            + "\"replays\": %d, \"droppedReplays\": %d, \"cacheHitRate\": %.4f, "
+                            + "\"peakHeapBytes\": %d, \"evaluateSeconds\": %.3f, \"calculateFitnessSeconds\": %.3f, "
+                            + "\"replaySeconds\": %.3f, \"breedSeconds\": %.3f, \"dumpGenToFileSeconds\": %.3f}",
+                    this.population, this.generations, this.total / 1e9, evaluationsPerSecond(),
+                    generationsPerSecond(), this.runs, this.replays, this.droppedReplays, this.hitRate, this.peakHeap,
+                    this.evaluate / 1e9, this.fitness / 1e9, this.replay / 1e9, this.breed / 1e9, this.store / 1e9);
+        }
+    }
+}
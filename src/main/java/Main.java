@@ -1,11 +1,23 @@
 
 import classes.Chromosome;
+import classes.ChromosomeEvaluator;
+import classes.FlightRecording;
+import classes.GaConfig;
 import classes.Generation;
+import classes.GenerationStats;
 import classes.GeneticAlgorithm;
-import classes.PropertiesInfo;
-import luigi.MarioUtils;
+import classes.Genome;
+import classes.IslandModel;
+import classes.MigrationClient;
+import classes.MigrationCoordinator;
+import classes.MarioServerPool;
+import classes.OutcomePrefixTrie;
+import classes.ReplayQueue;
+import classes.ResultCache;
+import classes.SessionMetrics;
+import classes.SteadyStateEngine;
+import classes.Termination;
 import luigi.Request;
-import luigi.RunResult;
 
 import java.util.*;
 import java.io.*;
@@ -14,21 +26,133 @@ public class Main {
 
     public static void main(String[] args) throws IOException {
 
-        PropertiesInfo pI = new PropertiesInfo();
+        GaConfig config = GaConfig.getDefault();
 
-        String ip = pI.getIp();
-        String importFile = pI.getImpFile();
-        int maxGen = pI.getGenValue();
+        String importFile = config.getImpFile();
+        int maxGen = config.getGenerations();
+
+        // IP de casa 192.168.1.250, configure no ficheiro properties.
+        MarioServerPool servers = MarioServerPool.fromAddresses(config.getServers(), config.getEjectAfterErrors(),
+                config.getEjectMillis());
+
+        // the best chromosome is watched on servers of its own, or on the servers of the evaluation
+        MarioServerPool replayServers = config.getReplayServers().isEmpty() ? servers
+                : MarioServerPool.fromAddresses(config.getReplayServers(), config.getEjectAfterErrors(),
+                config.getEjectMillis());
+
+        // sends the chromosomes of each generation to the servers concurrently
+        ResultCache cache = new ResultCache(config.getCacheSize());
+        OutcomePrefixTrie trie = new OutcomePrefixTrie(config.getTrieNodes());
+        ChromosomeEvaluator evaluator = new ChromosomeEvaluator(config, servers, cache, trie);
+
+        // where the time goes, written to a file for a local scraper
+        SessionMetrics metrics = SessionMetrics.getDefault();
+        metrics.startExport(config);
+
+        // the phases of each generation on the timeline of the JVM, with the JFR_FILE setting
+        FlightRecording.start(config);
+
+        // the session may stop before its last generation, the reason is written at the end of the log file
+        Termination termination = new Termination(config);
+
+        // a node of a session spread over many JVMs, this one may also coordinate the migrations
+        MigrationCoordinator coordinator = null;
+        if (config.getCoordinatorPort() > 0) {
+            coordinator = new MigrationCoordinator(config.getCoordinatorPort(), config.getLevel(),
+                    config.getMigrationTopology(), config.getSeed());
+            System.out.println("Coordinating the nodes on port " + coordinator.getPort() + ".");
+        }
+
+        MigrationClient remote = null;
+        if (!config.getCoordinator().equals("NoCoordinator")) {
+            remote = MigrationClient.connect(config.getCoordinator(), config.getLevel(),
+                    config.getMigrationTimeoutMillis());
+        }
+
+        // many populations evolving at the same time, sharing the servers
+        if (config.getIslands() > 1 || remote != null || coordinator != null) {
+            System.out.println("Seed: " + config.getSeed() + ", Islands: " + config.getIslands());
+            if (!config.getResumeFile().equals("NoResume") || !importFile.equals("NoImport")) {
+                System.out.println("Resume and import files aren't used by the islands -> Starting a new session.");
+            }
+
+            IslandModel islands = new IslandModel(config, evaluator, remote, termination);
+            islands.run(maxGen);
+
+            Chromosome bestFit = islands.getBestFit();
+            if (coordinator != null && coordinator.getBestFit() != null
+                    && (bestFit == null || bestFit.getFitnessValue() < coordinator.getBestFit().getFitnessValue())) {
+                bestFit = coordinator.getBestFit();
+                System.out.println("\nBest chromosome from node " + coordinator.getBestNode());
+            }
+
+            if (bestFit != null) {
+                System.out.println("\nBest Fitness: " + bestFit.getFitnessValue());
+                if (!config.getReplay().equals("NONE")) {
+                    replayServers.play(new Request(convertToArray(bestFit.getInputs()), config.getLevel(), "true"));
+                }
+            }
+
+            evaluator.close();
+            islands.close();
+            if (remote != null) {
+                remote.close();
+            }
+            if (coordinator != null) {
+                coordinator.close();
+            }
+            metrics.close();
+            FlightRecording.close();
+            System.out.println(servers.printStats());
+            System.out.println(cache);
+            System.out.println(trie);
+            return;
+        }
+
+        // each evaluated chromosome replaces another one at once, without waiting for the whole generation
+        if (config.getEngine().equals("STEADY_STATE")) {
+            SteadyStateEngine engine = new SteadyStateEngine(config, evaluator, termination);
+            System.out.println("Seed: " + engine.getSeed() + ", Steady-state engine");
+            if (!config.getResumeFile().equals("NoResume") || !importFile.equals("NoImport")) {
+                System.out.println("Resume and import files aren't used by the steady-state engine -> Starting a new session.");
+            }
+
+            engine.run(maxGen);
+
+            Chromosome bestFit = engine.getBestFit();
+            if (bestFit != null) {
+                System.out.println("\nBest Fitness: " + bestFit.getFitnessValue());
+                if (!config.getReplay().equals("NONE")) {
+                    replayServers.play(new Request(convertToArray(bestFit.getInputs()), config.getLevel(), "true"));
+                }
+            }
+
+            evaluator.close();
+            engine.close();
+            metrics.close();
+            FlightRecording.close();
+            System.out.println(servers.printStats());
+            System.out.println(cache);
+            System.out.println(trie);
+            return;
+        }
 
         // main variables Genetic Algorithm and the Mario Server
-        GeneticAlgorithm gen = GeneticAlgorithm.getGeneticAlgorithm();
+        GeneticAlgorithm gen = GeneticAlgorithm.getGeneticAlgorithm(config);
+        System.out.println("Seed: " + gen.getSeed());
 
-        // IP de casa 192.168.1.250, configure no ficheiro properties.
-        MarioUtils server = new MarioUtils(ip);
+        // verifies if there is a checkpoint to resume, or else a file with a solution to import
+        String resumeFile = config.getResumeFile();
+        boolean resumed = !(resumeFile.equals("NoResume")) && gen.resumeFromCheckpoint(resumeFile);
 
-        // verifies if there is a file with a solution to import
-        if (!(importFile.equals("NoImport"))) {
-            gen.readGenFromFile(importFile);
+        if (!resumed && !(importFile.equals("NoImport"))) {
+            gen.readGenFromFile(importFile, config.getImpGeneration());
+        }
+
+        // the best chromosome is replayed apart from the generations, only when a new one is found
+        ReplayQueue replays = null;
+        if (config.getReplay().equals("ASYNC")) {
+            replays = new ReplayQueue(replayServers, gen.getLevel(), config.getReplayQueueSize());
         }
 
 
@@ -36,31 +160,62 @@ public class Main {
         while (gen.getNumGen() <= maxGen) {
             // get the current generation
             Generation currGen = gen.getCurrGen();
+            FlightRecording.GenerationEvaluated evaluated = new FlightRecording.GenerationEvaluated();
+            evaluated.begin();
 
-            for (Chromosome tmp : currGen.getGeneration()) {
-                ArrayList<Integer> inputs = tmp.getInputs();
-
-                // make the request to the Mario Server, and store the results
-                Request request = new Request(convertToArray(inputs), gen.getLevel(), String.valueOf(gen.isRender()));
-                RunResult res = server.goMarioGo(request, 8080);
-
-                // changing this variable also changes gen.getCurrGen() variable
-                tmp.assertResult(res);
-            }
+            // make the requests to the Mario Server, and store the results in each chromosome
+            evaluator.evaluate(currGen);
 
             // construct a new generation from the previous one
             gen.calculateFitness();
-            System.out.println("\nAverage X_POS: " + gen.getCurrGen().calculateGenAveragePos());
-            System.out.println("Average Speed: " + gen.getCurrGen().calculateGenAverageSpeed(pI.getWorld(), pI.getStage()));
-            System.out.println("Average Fitness: " + gen.getCurrGen().calculateGenAverageFitnessScore());
+            GenerationStats stats = gen.getCurrGen().getStats();
+
+            evaluated.generation = gen.getNumGen();
+            evaluated.chromosomes = currGen.getGeneration().size();
+            evaluated.averagePos = stats.getPos().getMean();
+            evaluated.averageFitness = stats.getFitness().getMean();
+            evaluated.bestFitness = gen.getBestFit().getFitnessValue();
+            evaluated.commit();
+
+            System.out.println("\nAverage X_POS: " + stats.getPos().getMean());
+            System.out.println("Average Speed: " + stats.getSpeed().getMean());
+            System.out.println("Average Fitness: " + stats.getFitness().getMean());
+            System.out.println("Fitness - " + stats.getFitness());
             System.out.println("\n\n");
 
             Chromosome bestFit = gen.getBestFit();
+            boolean stop = termination.shouldStop(bestFit, evaluator.getEvaluated(), gen.getNumGen());
 
-            Request request = new Request(convertToArray(bestFit.getInputs()), gen.getLevel(), "true");
-            server.goMarioGo(request, 8080);
+            if (replays != null) {
+                replays.offer(bestFit);
+            } else if (config.getReplay().equals("INLINE")) {
+                Request request = new Request(convertToArray(bestFit.getInputs()), gen.getLevel(), "true");
+                replayServers.play(request);
+            }
 
             gen.breedNewGen();
+
+            if (stop) {
+                break;
+            }
+        }
+        termination.finish(maxGen);
+
+        evaluator.close();
+        gen.close(termination.getReason());
+        if (replays != null) {
+            replays.close();
+        }
+        metrics.close();
+        FlightRecording.close();
+        System.out.println(servers.printStats());
+        if (replayServers != servers) {
+            System.out.println(replayServers.printStats());
+        }
+        System.out.println(cache);
+        System.out.println(trie);
+        if (replays != null) {
+            System.out.println(replays);
         }
 
         /*GeneticAlgorithm gen = GeneticAlgorithm.getGeneticAlgorithm();
@@ -99,12 +254,7 @@ public class Main {
         }*/
     }
 
-    public static Integer[] convertToArray(ArrayList<Integer> inputs) {
-        Integer[] arr = new Integer[inputs.size()];
-        int index = 0;
-        for (final Integer value : inputs) {
-            arr[index++] = value;
-        }
-        return arr;
+    public static Integer[] convertToArray(Genome inputs) {
+        return inputs.toRequestArray();
     }
 }
\ No newline at end of file
@@ -0,0 +1,259 @@
+package classes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class that represents a binary checkpoint of an evaluated generation, from which a session can be resumed. Since
+ * every random stream derives from the seed and the generation number, the seed is the whole state of the random
+ * number generators, and a resumed session makes the same choices as the original one.
+ * <p>
+ * Format, version 1 (big endian):
+ * <pre>
+ * int    magic "MGAC"
+ * short  version
+ * long   seed
+ * int    generation number
+ * short  level length, then the level in UTF-8
+ * int    population
+ * each chromosome:
+ *   double fitness value
+ *   byte   encoding, PACKED or RLE
+ *   int    number of blocks
+ *   PACKED: one byte per block, button in the high and duration in the low 4 bits
+ *   RLE:    one byte for the button and an int for the duration of each block
+ * </pre>
+ */
+public final class Checkpoint {
+
+    private static final int MAGIC = 0x4D474143;
+    private static final short VERSION = 1;
+
+    private static final byte PACKED = 0;
+    private static final byte RLE = 1;
+
+    private final long seed;
+    private final int numGen;
+    private final String level;
+    private final Genome[] inputs;
+    private final double[] fitness;
+
+    private Checkpoint(long seed, int numGen, String level, Genome[] inputs, double[] fitness) {
+        this.seed = seed;
+        this.numGen = numGen;
+        this.level = level;
+        this.inputs = inputs;
+        this.fitness = fitness;
+    }
+
+    /**
+     * This method writes a checkpoint of a generation. The checkpoint is written to a temporary file first, so the
+     * previous checkpoint is only replaced by a complete one.
+     *
+     * @param file     the checkpoint file.
+     * @param snapshot the evaluated generation.
+     * @param seed     the seed of the session.
+     * @throws IOException if the file couldn't be written.
+     */
+    public static void write(Path file, GenerationSnapshot snapshot, long seed) throws IOException {
+        byte[] level = snapshot.getLevel().getBytes(StandardCharsets.UTF_8);
+
+        int size = 4 + 2 + 8 + 4 + 2 + level.length + 4;
+        for (int i = 0; i < snapshot.size(); i++) {
+            size += 8 + encodedSize(snapshot.getInputs(i));
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putShort(VERSION).putLong(seed).putInt(snapshot.getNumGen());
+        buffer.putShort((short) level.length).put(level);
+        buffer.putInt(snapshot.size());
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            buffer.putDouble(snapshot.getFitness(i));
+            encode(buffer, snapshot.getInputs(i));
+        }
+        buffer.flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * This method reads a checkpoint, mapping the file to memory.
+     *
+     * @param file the checkpoint file.
+     * @return the checkpoint.
+     * @throws IOException if the file couldn't be read or isn't a checkpoint of a known version.
+     */
+    public static Checkpoint read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.remaining() < 6 || buffer.getInt() != MAGIC) {
+                throw new IOException(file + " isn't a checkpoint.");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException(file + " is a checkpoint of version " + version + ", expected " + VERSION + ".");
+            }
+
+            long seed = buffer.getLong();
+            int numGen = buffer.getInt();
+
+            byte[] level = new byte[buffer.getShort()];
+            buffer.get(level);
+
+            int population = buffer.getInt();
+            Genome[] inputs = new Genome[population];
+            double[] fitness = new double[population];
+            Genome.Builder builder = new Genome.Builder(256);
+
+            for (int i = 0; i < population; i++) {
+                fitness[i] = buffer.getDouble();
+                inputs[i] = decode(buffer, builder);
+            }
+
+            return new Checkpoint(seed, numGen, new String(level, StandardCharsets.UTF_8), inputs, fitness);
+        } catch (RuntimeException e) {
+            // a truncated or corrupted file
+            throw new IOException(file + " is a damaged checkpoint.", e);
+        }
+    }
+
+    /**
+     * This method returns the number of bytes of an encoded genome.
+     *
+     * @param genome the genome.
+     * @return the number of bytes.
+     */
+    static int encodedSize(Genome genome) {
+        return 1 + 4 + genome.blockCount() * (isPackable(genome) ? 1 : 5);
+    }
+
+    /**
+     * This method encodes a genome, packed if every block fits in a byte.
+     *
+     * @param buffer the buffer receiving the genome, with room for {@link #encodedSize(Genome)} bytes.
+     * @param genome the genome.
+     */
+    static void encode(ByteBuffer buffer, Genome genome) {
+        boolean packed = isPackable(genome);
+
+        buffer.put(packed ? PACKED : RLE).putInt(genome.blockCount());
+        for (int block = 0; block < genome.blockCount(); block++) {
+            if (packed) {
+                buffer.put((byte) (genome.button(block) << 4 | genome.duration(block)));
+            } else {
+                buffer.put((byte) genome.button(block)).putInt(genome.duration(block));
+            }
+        }
+    }
+
+    /**
+     * This method decodes a genome.
+     *
+     * @param buffer  the buffer with the encoded genome.
+     * @param builder a builder to reuse, cleared before the genome is decoded.
+     * @return the genome.
+     */
+    static Genome decode(ByteBuffer buffer, Genome.Builder builder) {
+        byte encoding = buffer.get();
+        int blocks = buffer.getInt();
+
+        builder.clear();
+        for (int block = 0; block < blocks; block++) {
+            if (encoding == PACKED) {
+                int packed = buffer.get() & 0xFF;
+                builder.addRun(packed >>> 4, packed & 0x0F);
+            } else {
+                int button = buffer.get();
+                builder.addRun(button, buffer.getInt());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Checks if every block of a genome fits in a byte.
+     */
+    private static boolean isPackable(Genome genome) {
+        for (int block = 0; block < genome.blockCount(); block++) {
+            if (genome.button(block) > 0x0F || genome.duration(block) > 0x0F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A getter method that returns the seed of the session
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * A getter method that returns the number of the generation
+     *
+     * @return the number of the generation
+     */
+    public int getNumGen() {
+        return this.numGen;
+    }
+
+    /**
+     * A getter method that returns the level
+     *
+     * @return a string representing the level
+     */
+    public String getLevel() {
+        return this.level;
+    }
+
+    /**
+     * This method returns the number of chromosomes.
+     *
+     * @return the number of chromosomes.
+     */
+    public int size() {
+        return this.inputs.length;
+    }
+
+    /**
+     * This method returns the inputs of a chromosome.
+     *
+     * @param chromosome the position of the chromosome.
+     * @return the inputs.
+     */
+    public Genome getInputs(int chromosome) {
+        return this.inputs[chromosome];
+    }
+
+    /**
+     * This method returns the fitness value of a chromosome.
+     *
+     * @param chromosome the position of the chromosome.
+     * @return the fitness value.
+     */
+    public double getFitness(int chromosome) {
+        return this.fitness[chromosome];
+    }
+}
@@ -2,15 +2,13 @@ package classes;
 
 import luigi.RunResult;
 
-import java.util.ArrayList;
-
 /**
  *  A class that represents a chromosome
  *
  */
 public class Chromosome implements Cloneable, Comparable<Chromosome>{
 
-    private ArrayList<Integer> inputs;
+    private Genome inputs;
     private double fitnessValue;
     private RunResult results = null;
 
@@ -18,23 +16,23 @@ public class Chromosome implements Cloneable, Comparable<Chromosome>{
      * This method creates a new instance of the <i>Chromosome class</i>.
      */
     public Chromosome(){
-        this.inputs = new ArrayList<>();
+        this.inputs = Genome.EMPTY;
         this.fitnessValue = 0;
     }
 
     /**
-     * This method returns an array of the inputted commands for the character to make.
-     * @return an array of the commands inputted.
+     * This method returns the genome of the inputted commands for the character to make.
+     * @return the genome of the commands inputted.
      */
-    public ArrayList<Integer> getInputs() {
+    public Genome getInputs() {
         return this.inputs;
     }
 
     /**
      * This method sets the value for the <i>Mario</i> character to make.
-     * @param inputs, new array of values for the inputted commands list.
+     * @param inputs, new genome of values for the inputted commands list.
      */
-    public void setInputs(ArrayList<Integer> inputs) {
+    public void setInputs(Genome inputs) {
         this.inputs = inputs;
     }
 
@@ -102,6 +100,6 @@ public class Chromosome implements Cloneable, Comparable<Chromosome>{
      */
     @Override
     public int compareTo(Chromosome o) {
-        return (int) (this.fitnessValue - o.getFitnessValue());
+        return Double.compare(this.fitnessValue, o.getFitnessValue());
     }
 }
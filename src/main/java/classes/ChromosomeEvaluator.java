@@ -0,0 +1,227 @@
+package classes;
+
+import luigi.Request;
+import luigi.RunResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class that evaluates the chromosomes of a generation concurrently against the Mario servers
+ */
+public class ChromosomeEvaluator implements AutoCloseable {
+
+    // the level played and whether it's rendered
+    private final String level;
+    private final boolean render;
+
+    // the Mario servers
+    private final MarioServerPool pool;
+
+    // results of the inputs already played
+    private final ResultCache cache;
+
+    // deaths and wins already seen, to predict the inputs sharing their prefix
+    private final OutcomePrefixTrie trie;
+
+    // maximum number of requests being played by the servers at the same time
+    private final int maxInFlight;
+    private final ThreadPoolExecutor executor;
+
+    // chromosomes evaluated in the session
+    private final AtomicLong evaluated = new AtomicLong();
+
+    /**
+     * This method creates a new instance of the <i>ChromosomeEvaluator class</i>.
+     *
+     * @param config the configuration with the level and the maximum number of requests sent to the servers at
+     *               the same time.
+     * @param pool   the Mario servers.
+     * @param cache  the results of the inputs already played.
+     * @param trie   the deaths and wins already seen.
+     */
+    public ChromosomeEvaluator(GaConfig config, MarioServerPool pool, ResultCache cache, OutcomePrefixTrie trie) {
+        this.level = config.getLevel();
+        this.render = config.isRender();
+        this.pool = pool;
+        this.cache = cache;
+        this.trie = trie;
+        this.maxInFlight = Math.max(1, config.getMaxInFlight());
+
+        final AtomicInteger threadNum = new AtomicInteger(1);
+        this.executor = new ThreadPoolExecutor(this.maxInFlight, this.maxInFlight, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "evaluator-" + threadNum.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        SessionMetrics metrics = SessionMetrics.getDefault();
+        metrics.gauge("evaluator_queued", "Requests waiting for an evaluator thread",
+                () -> this.executor.getQueue().size());
+        metrics.gauge("evaluator_in_flight", "Requests being played by the Mario servers",
+                this.executor::getActiveCount);
+        metrics.gauge("result_cache_hit_rate", "Share of the chromosomes found in the result cache",
+                cache::getHitRate);
+        metrics.gauge("result_cache_hits", "Chromosomes found in the result cache", cache::getHits);
+        metrics.gauge("result_cache_misses", "Chromosomes not found in the result cache", cache::getMisses);
+        metrics.gauge("prefix_trie_predictions", "Chromosomes whose death or win was predicted by the prefix trie",
+                trie::getPredictions);
+    }
+
+    /**
+     * This method evaluates a generation in the level of the configuration.
+     *
+     * @param generation the generation to be evaluated.
+     */
+    public void evaluate(Generation generation) {
+        evaluate(generation, this.level, this.render);
+    }
+
+    /**
+     * This method submits every chromosome of a generation to the Mario servers at once and stores each
+     * <i>RunResult</i> in the chromosome it belongs to. Chromosomes whose inputs were already played, or which
+     * start with the inputs of a known death or win, get that result instead.
+     *
+     * @param generation the generation to be evaluated.
+     * @param level      the level to be played.
+     * @param render     whether the servers should render the runs.
+     */
+    public void evaluate(Generation generation, String level, boolean render) {
+        long start = System.nanoTime();
+        ArrayList<Chromosome> chromosomes = generation.getGeneration();
+        List<Future<RunResult>> futures = new ArrayList<>(chromosomes.size());
+
+        for (Chromosome tmp : chromosomes) {
+            RunResult known = lookup(level, tmp.getInputs());
+
+            if (known != null) {
+                tmp.assertResult(known);
+                futures.add(null);
+                continue;
+            }
+
+            futures.add(submit(level, tmp.getInputs(), render));
+        }
+
+        for (int i = 0; i < chromosomes.size(); i++) {
+            if (futures.get(i) != null) {
+                chromosomes.get(i).assertResult(collect(futures.get(i)));
+            }
+        }
+        generation.invalidateStats();
+        this.evaluated.addAndGet(chromosomes.size());
+        SessionMetrics.getDefault().getEvaluation().recordSince(start);
+    }
+
+    /**
+     * This method submits a single chromosome to the Mario servers in the level of the configuration, without
+     * waiting for its run. The result isn't stored in the chromosome.
+     *
+     * @param tmp the chromosome to be evaluated.
+     * @return the result of the run when it finishes, an empty result if the request failed.
+     */
+    public CompletableFuture<RunResult> evaluateAsync(Chromosome tmp) {
+        this.evaluated.incrementAndGet();
+        RunResult known = lookup(this.level, tmp.getInputs());
+
+        if (known != null) {
+            return CompletableFuture.completedFuture(known);
+        }
+
+        return submit(this.level, tmp.getInputs(), this.render).handle((result, error) -> {
+            if (error != null) {
+                System.err.println("Something went wrong evaluating a chromosome: " + error.getCause());
+                return new RunResult();
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Finds the result of inputs already played, or starting with the inputs of a known death or win.
+     *
+     * @return the result, or null if it isn't known.
+     */
+    private RunResult lookup(String level, Genome inputs) {
+        RunResult known = this.cache.get(level, inputs);
+        return known != null ? known : this.trie.predict(level, inputs);
+    }
+
+    /**
+     * Sends inputs to the Mario servers on an evaluator thread, remembering the result.
+     *
+     * @return the result of the run when it finishes.
+     */
+    private CompletableFuture<RunResult> submit(String level, Genome played, boolean render) {
+        final Request request = new Request(played.toRequestArray(), level, String.valueOf(render));
+
+        return CompletableFuture.supplyAsync(() -> {
+            FlightRecording.ChromosomeEvaluated event = new FlightRecording.ChromosomeEvaluated();
+            event.begin();
+            RunResult result = this.pool.play(request);
+
+            if (event.shouldCommit()) {
+                event.level = level;
+                event.reasonFinish = result.getReason_finish();
+                event.commandsUsed = result.getCommands_used();
+                event.commandsSent = request.getSolution().length;
+                event.xPos = result.getX_pos();
+                event.render = render;
+                event.commit();
+            }
+
+            this.cache.put(level, played, result);
+            this.trie.record(level, played, result);
+            return result;
+        }, this.executor);
+    }
+
+    /**
+     * Waits for a submitted request to finish.
+     *
+     * @param future the submitted request.
+     * @return the result of the run, or an empty result if the request failed.
+     */
+    private RunResult collect(Future<RunResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException i) {
+            Thread.currentThread().interrupt();
+            System.err.println("The evaluation of the generation was interrupted.");
+        } catch (ExecutionException e) {
+            System.err.println("Something went wrong evaluating a chromosome: " + e.getCause());
+        }
+        return new RunResult();
+    }
+
+    /**
+     * A getter method that returns the maximum number of requests in flight
+     *
+     * @return the maximum number of requests in flight
+     */
+    public int getMaxInFlight() {
+        return this.maxInFlight;
+    }
+
+    /**
+     * A getter method that returns the number of chromosomes evaluated, or being evaluated, the ones found in the
+     * result cache included
+     *
+     * @return the number of chromosomes
+     */
+    public long getEvaluated() {
+        return this.evaluated.get();
+    }
+
+    /**
+     * This method stops the evaluator threads.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+}
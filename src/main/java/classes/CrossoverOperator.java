@@ -0,0 +1,21 @@
+package classes;
+
+import java.util.SplittableRandom;
+
+/**
+ * Interface that represents the way the inputs of two parents are combined into the inputs of two children. The
+ * children are written into builders owned by the caller, so the same buffers are reused for every crossover.
+ */
+public interface CrossoverOperator {
+
+    /**
+     * This method combines the inputs of two parents.
+     *
+     * @param parent1 the inputs of one of the parents.
+     * @param parent2 the inputs of the other parent.
+     * @param child1  the empty builder of the first child.
+     * @param child2  the empty builder of the second child.
+     * @param random  the random number generator.
+     */
+    void cross(Genome parent1, Genome parent2, Genome.Builder child1, Genome.Builder child2, SplittableRandom random);
+}
@@ -0,0 +1,24 @@
+package classes;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class that selects parents with a probability proportional to their fitness, spinning a roulette wheel
+ */
+public class FitnessProportionateSelection implements Selection {
+
+    private List<Chromosome> generation;
+    private RouletteWheel wheel;
+
+    @Override
+    public void prepare(List<Chromosome> generation, int picks, SplittableRandom random) {
+        this.generation = generation;
+        this.wheel = new RouletteWheel(generation);
+    }
+
+    @Override
+    public Chromosome select(SplittableRandom random) {
+        return this.generation.get(this.wheel.spin(random.nextDouble()));
+    }
+}
@@ -0,0 +1,217 @@
+package classes;
+
+import jdk.jfr.Category;
+import jdk.jfr.Configuration;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+/**
+ * Class that holds the Java Flight Recorder events of the genetic algorithm, and the recording started by the
+ * <i>JFR_FILE</i> setting. The events put the phases of each generation and the runs of the Mario servers on the same
+ * timeline as the GC pauses and the threads of the JVM:
+ * <ul>
+ * <li><i>GenerationEvaluated</i>, the evaluation and calculateFitness of a generation;</li>
+ * <li><i>ChromosomeEvaluated</i>, a run played by a Mario server;</li>
+ * <li><i>BreedPhase</i>, breedNewGen, storing the generation included;</li>
+ * <li><i>CrossoverBatch</i>, the crossovers and mutations of a generation;</li>
+ * <li><i>PersistenceFlush</i>, a generation handed to the log writer, or the log files forced to the disk.</li>
+ * </ul>
+ * The events cost next to nothing without a recording, so they are always emitted; a recording started with
+ * <i>-XX:StartFlightRecording</i> or <i>jcmd</i> gets them too.
+ */
+public final class FlightRecording {
+
+    private static final String CATEGORY = "Mario GA";
+
+    private static Recording recording;
+    private static Path file;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * This method starts a recording of the session, if the configuration has a file for it. The recording is written
+     * to the file when it's closed, or when the JVM exits.
+     *
+     * @param config the configuration with the recording file and settings.
+     */
+    public static synchronized void start(GaConfig config) {
+        if (config.getJfrFile().equals("NoRecording") || recording != null) {
+            return;
+        }
+
+        try {
+            Configuration settings;
+            try {
+                settings = Configuration.getConfiguration(config.getJfrSettings());
+            } catch (ParseException | IOException p) {
+                System.out.println("A problem occurred getting the recording settings -> Switched to default values.");
+                settings = Configuration.getConfiguration("default");
+            }
+
+            file = Paths.get(config.getJfrFile()).toAbsolutePath();
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+
+            recording = new Recording(settings);
+            recording.setName("mario-ga");
+            recording.enable(GenerationEvaluated.class);
+            recording.enable(ChromosomeEvaluated.class);
+            recording.enable(BreedPhase.class);
+            recording.enable(CrossoverBatch.class);
+            recording.enable(PersistenceFlush.class);
+            recording.setDestination(file);
+            recording.setDumpOnExit(true);
+            recording.start();
+            System.out.println("Recording the session to " + file + " (" + settings.getName() + " settings).");
+        } catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+            System.err.println("Something went wrong starting the flight recording: " + e.getMessage());
+            recording = null;
+        }
+    }
+
+    /**
+     * This method stops the recording of the session and writes it to its file.
+     */
+    public static synchronized void close() {
+        if (recording != null) {
+            recording.stop();
+            recording.close();
+            recording = null;
+            System.out.println("Flight recording written to " + file);
+        }
+    }
+
+    /**
+     * The evaluation of a generation by the Mario servers and the calculation of its fitness values.
+     */
+    @Name("mario.ga.GenerationEvaluated")
+    @Label("Generation Evaluated")
+    @Category(CATEGORY)
+    @Description("The evaluation and calculateFitness of a generation")
+    public static final class GenerationEvaluated extends Event {
+
+        @Label("Island")
+        @Description("The island of the generation, 0 without islands")
+        public int island;
+
+        @Label("Generation")
+        public int generation;
+
+        @Label("Chromosomes")
+        public int chromosomes;
+
+        @Label("Average X_POS")
+        public double averagePos;
+
+        @Label("Average Fitness")
+        public double averageFitness;
+
+        @Label("Best Fitness")
+        public double bestFitness;
+    }
+
+    /**
+     * A run of a chromosome played by a Mario server, the chromosomes found in the result cache aren't played.
+     */
+    @Name("mario.ga.ChromosomeEvaluated")
+    @Label("Chromosome Evaluated")
+    @Category(CATEGORY)
+    @Description("A run played by a Mario server")
+    public static final class ChromosomeEvaluated extends Event {
+
+        @Label("Level")
+        public String level;
+
+        @Label("Reason Finish")
+        public String reasonFinish;
+
+        @Label("Commands Used")
+        public int commandsUsed;
+
+        @Label("Commands Sent")
+        public int commandsSent;
+
+        @Label("X_POS")
+        public int xPos;
+
+        @Label("Rendered")
+        public boolean render;
+    }
+
+    /**
+     * The breeding of a new generation, storing the current generation included.
+     */
+    @Name("mario.ga.BreedPhase")
+    @Label("Breed Phase")
+    @Category(CATEGORY)
+    @Description("breedNewGen, dumpGenToFile included")
+    public static final class BreedPhase extends Event {
+
+        @Label("Generation")
+        @Description("The generation bred from")
+        public int generation;
+
+        @Label("Population Size")
+        public int populationSize;
+
+        @Label("Elite")
+        @Description("The chromosomes kept by the elitism")
+        public int elite;
+    }
+
+    /**
+     * The crossovers and mutations that fill a new generation.
+     */
+    @Name("mario.ga.CrossoverBatch")
+    @Label("Crossover Batch")
+    @Category(CATEGORY)
+    @Description("The crossovers and mutations of a generation")
+    public static final class CrossoverBatch extends Event {
+
+        @Label("Generation")
+        public int generation;
+
+        @Label("Crossover Type")
+        public String crossoverType;
+
+        @Label("Crossovers")
+        public int crossovers;
+
+        @Label("Discarded Pairs")
+        @Description("Pairs of children discarded as clones of their parents")
+        public int discarded;
+    }
+
+    /**
+     * A generation handed to the log writer, or the log files forced to the disk by the writer thread.
+     */
+    @Name("mario.ga.PersistenceFlush")
+    @Label("Persistence Flush")
+    @Category(CATEGORY)
+    @Description("dumpGenToFile, or the log files forced to the disk")
+    public static final class PersistenceFlush extends Event {
+
+        @Label("Generation")
+        @Description("The generation stored, or the last generation forced to the disk")
+        public int generation;
+
+        @Label("Forced")
+        @Description("Whether the files were forced to the disk, or the generation was queued")
+        public boolean forced;
+
+        @Label("Generations")
+        @Description("The generations waiting to be written, or forced to the disk")
+        public int generations;
+    }
+}
@@ -0,0 +1,884 @@
+package classes;
+
+import org.apache.commons.lang3.EnumUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Class that represents the configuration of the genetic algorithm, read once from the <i>properties</i> file and
+ * validated. A value missing or out of its range is replaced by its default value.
+ * <p>
+ * Any property can be overridden without editing the file, by a system property with the <i>ga.</i> prefix (eg:
+ * <i>-Dga.POPULATION_SIZE=200</i>) or else by an environment variable with the <i>GA_</i> prefix (eg:
+ * <i>GA_POPULATION_SIZE=200</i>).
+ */
+public final class GaConfig {
+
+    private static final String PROPS_PATH = "/GeneticAlgorithm.properties";
+
+    private static volatile GaConfig instance;
+
+    // the islands' seeds are spread from the seed of the session
+    private static final long ISLAND_SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    // the properties read, kept to create the configuration of each island
+    private final Properties props;
+    private final String prefix;
+    private final int island;
+
+    // level
+    private final int world;
+    private final int stage;
+    private final String level;
+    private final boolean render;
+
+    // chromosomes
+    private final int[] buttonFrequencies;
+    private final int scoreWeight;
+    private final int coinWeight;
+    private final int speedrunWeight;
+
+    // genetic algorithm
+    private final int populationSize;
+    private final int generations;
+    private final String crossoverType;
+    private final double crossoverOnePointRate;
+    private final double crossoverMultiPointMin;
+    private final double crossoverMultiPointMax;
+    private final int crossoverMultiPointCount;
+    private final double crossoverUniformRate;
+    private final double crossoverFrequency;
+    private final double mutationFrequency;
+
+    // early termination, 0 -> not used
+    private final double stopFitness;
+    private final boolean stopOnFlag;
+    private final int stopFlagTimeLeft;
+    private final int stopStagnantGenerations;
+    private final int stopAfterSeconds;
+    private final int stopAfterEvaluations;
+
+    // engine
+    private final String engine;
+    private final String steadyStateReplacement;
+
+    // selection
+    private final boolean fitnessProportionate;
+    private final boolean stochastic;
+    private final boolean tournament;
+    private final boolean truncation;
+    private final int tournamentSize;
+    private final double truncationRate;
+    private final boolean elitism;
+    private final int top;
+
+    // session
+    private final long seed;
+    private final String impFile;
+    private final int impGeneration;
+    private final String resumeFile;
+    private final int logQueueCapacity;
+    private final int logFlushEvery;
+    private final int checkpointEvery;
+
+    // island model
+    private final int islands;
+    private final int migrationInterval;
+    private final int migrationSize;
+    private final String migrationTopology;
+
+    // distributed island model
+    private final String coordinator;
+    private final int coordinatorPort;
+    private final int migrationTimeoutMillis;
+
+    // Mario servers
+    private final String ip;
+    private final List<String> servers;
+    private final int maxInFlight;
+    private final int ejectAfterErrors;
+    private final long ejectMillis;
+    private final int cacheSize;
+    private final int trieNodes;
+
+    // replays of the best chromosome
+    private final String replay;
+    private final int replayQueueSize;
+    private final List<String> replayServers;
+
+    // metrics
+    private final String metricsFile;
+    private final String metricsFormat;
+    private final int metricsIntervalMillis;
+
+    // flight recording
+    private final String jfrFile;
+    private final String jfrSettings;
+
+    /**
+     * Validates every property, the overrides taking the place of the file.
+     *
+     * @param props  the properties read.
+     * @param parent the configuration of the whole session if this is the configuration of an island, else null.
+     * @param island the number of the island, from 1, or 0 for the whole session.
+     * @param node   the number of the node of a distributed session running the island.
+     */
+    private GaConfig(Properties props, GaConfig parent, int island, int node) {
+        this.props = props;
+        this.island = island;
+        this.prefix = island > 0 ? "ISLAND_" + island + "_" : null;
+
+        // level
+        int world = intValue("WORLD", -1, 1, 8, null);
+        int stage = intValue("LEVEL", -1, 1, 4, null);
+        int version = intValue("VERSION", -1, 0, 3, null);
+
+        if (world < 0 || stage < 0 || version < 0) {
+            world = 1;
+            stage = 1;
+            version = 0;
+            System.out.println("A problem occurred getting world, level and version -> Switched to default values.");
+        }
+        this.world = world;
+        this.stage = stage;
+        this.level = "SuperMarioBros-" + world + "-" + stage + "-v" + version;
+        this.render = Boolean.parseBoolean(value("RENDER"));
+
+        // chromosomes
+        this.buttonFrequencies = buttonFrequencies();
+        this.scoreWeight = intValue("SCORE_WEIGHT", 10, 0, 10, "weights values");
+        this.coinWeight = intValue("COIN_WEIGHT", 10, 0, 10, "weights values");
+        this.speedrunWeight = intValue("SPEEDRUN_WEIGHT", 10, 0, 10, "weights values");
+
+        // genetic algorithm
+        this.populationSize = intValue("POPULATION_SIZE", 100, 2, 1000, "population size");
+        this.generations = intValue("GENERATIONS", 30, 1, Integer.MAX_VALUE, "number of generations");
+
+        // early termination, any policy reached stops the session before the last generation
+        this.stopFitness = doubleValue("STOP_FITNESS", 0, 0, Double.MAX_VALUE, "termination values");
+        this.stopOnFlag = Boolean.parseBoolean(value("STOP_ON_FLAG"));
+        this.stopFlagTimeLeft = intValue("STOP_FLAG_TIME_LEFT", 0, 0, 400, "termination values");
+        this.stopStagnantGenerations = intValue("STOP_STAGNANT_GENERATIONS", 0, 0, Integer.MAX_VALUE,
+                "termination values");
+        this.stopAfterSeconds = intValue("STOP_AFTER_SECONDS", 0, 0, Integer.MAX_VALUE, "termination values");
+        this.stopAfterEvaluations = intValue("STOP_AFTER_EVALUATIONS", 0, 0, Integer.MAX_VALUE,
+                "termination values");
+
+        String crossoverType = value("CROSSOVER_TYPE");
+        if (!EnumUtils.isValidEnum(CROSSOVER_TYPES.class, crossoverType)) {
+            crossoverType = "ONE_POINT";
+            System.out.println("A problem occurred getting the crossover type -> Switched to default values.");
+        }
+
+        this.crossoverOnePointRate = doubleValue("CROSSOVER_ONE_POINT_RATE", 0.50, 0.00, 1.00,
+                crossoverType.equals("ONE_POINT") ? "crossover type values" : null);
+
+        double multiPointMin = doubleValue("CROSSOVER_MULTI_POINT_MIN", -1, 0.00, 1.00, null);
+        double multiPointMax = doubleValue("CROSSOVER_MULTI_POINT_MAX", -1, 0.00, 1.00, null);
+        int multiPointCount = intValue("CROSSOVER_MULTI_POINT_COUNT", -1, 1, 10, null);
+
+        if (multiPointMin < 0 || multiPointMax <= multiPointMin || multiPointCount < 0) {
+            multiPointMin = 0.00;
+            multiPointMax = 1.00;
+            multiPointCount = 2;
+
+            if (crossoverType.equals("MULTI_POINT")) {
+                crossoverType = "ONE_POINT";
+                System.out.println("A problem occurred getting crossover type values -> Switched to default values.");
+            }
+        }
+        this.crossoverMultiPointMin = multiPointMin;
+        this.crossoverMultiPointMax = multiPointMax;
+        this.crossoverMultiPointCount = multiPointCount;
+
+        double uniformRate = doubleValue("CROSSOVER_UNIFORM_RATE", -1, 0.00, 1.00, null);
+        if (uniformRate < 0) {
+            uniformRate = 0.50;
+
+            if (crossoverType.equals("UNIFORM")) {
+                crossoverType = "ONE_POINT";
+                System.out.println("A problem occurred getting crossover type values -> Switched to default values.");
+            }
+        }
+        this.crossoverUniformRate = uniformRate;
+        this.crossoverType = crossoverType;
+
+        this.crossoverFrequency = doubleValue("CROSSOVER_FREQUENCY", 0.95, 0.00, 1.00, "frequency values");
+        this.mutationFrequency = doubleValue("MUTATION_FREQUENCY", 0.015, 0.00, 1.00, "frequency values");
+
+        // engine, generational or steady-state
+        String engine = value("ENGINE");
+        if (!EnumUtils.isValidEnum(ENGINE_TYPES.class, engine)) {
+            engine = "GENERATIONAL";
+            System.out.println("A problem occurred getting the engine -> Switched to default values.");
+        }
+        this.engine = engine;
+
+        String replacement = value("STEADY_STATE_REPLACEMENT");
+        if (!EnumUtils.isValidEnum(REPLACEMENT_TYPES.class, replacement)) {
+            replacement = "WORST";
+            if (engine.equals("STEADY_STATE")) {
+                System.out.println("A problem occurred getting the replacement -> Switched to default values.");
+            }
+        }
+        this.steadyStateReplacement = replacement;
+
+        // selection, only one of them
+        boolean fitnessProportionate = Boolean.parseBoolean(value("FITNESS_PROPORTIONATE_SELECTION"));
+        boolean stochastic = Boolean.parseBoolean(value("STOCHASTIC_SELECTION"));
+        boolean tournament = Boolean.parseBoolean(value("TOURNAMENT_SELECTION"));
+        boolean truncation = Boolean.parseBoolean(value("TRUNCATION_SELECTION"));
+
+        int selections = (fitnessProportionate ? 1 : 0) + (stochastic ? 1 : 0) + (tournament ? 1 : 0)
+                + (truncation ? 1 : 0);
+        if (selections != 1) {
+            fitnessProportionate = true;
+            stochastic = false;
+            tournament = false;
+            truncation = false;
+            System.err.println("Multiple Selections -> Switched to default values");
+        }
+        this.fitnessProportionate = fitnessProportionate;
+        this.stochastic = stochastic;
+        this.tournament = tournament;
+        this.truncation = truncation;
+
+        this.tournamentSize = intValue("TOURNAMENT_SIZE", Math.min(3, this.populationSize), 2,
+                this.populationSize, tournament ? "selection values" : null);
+        this.truncationRate = doubleValue("TRUNCATION_RATE", 0.50, Double.MIN_VALUE, 1.00,
+                truncation ? "selection values" : null);
+
+        String elitism = value("ELITISM_SELECTION");
+        this.elitism = elitism == null || Boolean.parseBoolean(elitism);
+        this.top = intValue("TOP", Math.min(5, this.populationSize / 2), 1, this.populationSize / 2,
+                this.elitism ? "the elitism top" : null);
+
+        // session
+        long seed;
+        try {
+            // without a seed of its own an island gets one derived from the seed of the session
+            if (parent != null && lookup(this.prefix + "SEED") == null) {
+                seed = parent.getSeed() + ((long) node * parent.getIslands() + island) * ISLAND_SEED_GAMMA;
+            } else {
+                seed = RandomService.parseSeed(value("SEED"));
+            }
+        } catch (NumberFormatException n) {
+            seed = RandomService.parseSeed(null);
+            System.out.println("A problem occurred getting the seed -> Switched to a random seed.");
+        }
+        this.seed = seed;
+
+        this.impFile = stringValue("IMPORT_FILE", "NoImport");
+        String impGeneration = stringValue("IMPORT_GENERATION", "LATEST");
+        this.impGeneration = impGeneration.equalsIgnoreCase("LATEST") ? -1
+                : intValue("IMPORT_GENERATION", -1, 1, Integer.MAX_VALUE, "the import generation");
+        this.resumeFile = stringValue("RESUME_CHECKPOINT", "NoResume");
+
+        this.logQueueCapacity = intValue("LOG_QUEUE_CAPACITY", 4, 1, 100, "log values");
+        this.logFlushEvery = intValue("LOG_FLUSH_EVERY", 1, 1, 1000, "log values");
+        this.checkpointEvery = intValue("CHECKPOINT_EVERY", 1, 0, 1000, "the checkpoint frequency");
+
+        // island model, a single island is the plain genetic algorithm
+        this.islands = intValue("ISLANDS", 1, 1, 64, "the number of islands");
+        this.migrationInterval = intValue("MIGRATION_INTERVAL", 5, 1, 1000, "migration values");
+        this.migrationSize = intValue("MIGRATION_SIZE", Math.min(2, this.populationSize / 2), 1,
+                this.populationSize / 2, "migration values");
+
+        String migrationTopology = value("MIGRATION_TOPOLOGY");
+        if (!EnumUtils.isValidEnum(MIGRATION_TOPOLOGIES.class, migrationTopology)) {
+            migrationTopology = "RING";
+            if (this.islands > 1) {
+                System.out.println("A problem occurred getting the migration topology -> Switched to default values.");
+            }
+        }
+        this.migrationTopology = migrationTopology;
+
+        // islands on other nodes, NoCoordinator and a port of 0 -> a session of a single node
+        this.coordinator = stringValue("COORDINATOR", "NoCoordinator");
+        this.coordinatorPort = intValue("COORDINATOR_PORT", 0, 0, 65535, "the coordinator port");
+        this.migrationTimeoutMillis = intValue("MIGRATION_TIMEOUT_MILLIS", 10000, 1, Integer.MAX_VALUE,
+                "migration values");
+
+        // Mario servers, without a server list the single IP is used with the default port
+        this.ip = stringValue("IP", "localhost");
+
+        List<String> servers = new ArrayList<>();
+        for (String address : stringValue("SERVERS", this.ip + ":8080").split(",")) {
+            if (!address.trim().isEmpty()) {
+                servers.add(address.trim());
+            }
+        }
+        this.servers = Collections.unmodifiableList(servers);
+
+        this.maxInFlight = intValue("MAX_IN_FLIGHT", 8, 1, 1000, "server values");
+        this.ejectAfterErrors = intValue("SERVER_EJECT_ERRORS", 3, 1, 1000, "server values");
+        this.ejectMillis = intValue("SERVER_EJECT_MILLIS", 30000, 0, Integer.MAX_VALUE, "server values");
+        this.cacheSize = intValue("CACHE_SIZE", 5000, 0, Integer.MAX_VALUE, "the cache size");
+        this.trieNodes = intValue("PREFIX_TRIE_NODES", 200000, 0, Integer.MAX_VALUE, "the prefix trie size");
+
+        // replays of the best chromosome, without a server list they are sent to the servers of the evaluation
+        String replay = value("REPLAY");
+        if (!EnumUtils.isValidEnum(REPLAY_MODES.class, replay)) {
+            replay = "ASYNC";
+            System.out.println("A problem occurred getting the replay mode -> Switched to default values.");
+        }
+        this.replay = replay;
+        this.replayQueueSize = intValue("REPLAY_QUEUE_SIZE", 2, 1, 100, "the replay queue size");
+
+        List<String> replayServers = new ArrayList<>();
+        for (String address : stringValue("REPLAY_SERVERS", "").split(",")) {
+            if (!address.trim().isEmpty()) {
+                replayServers.add(address.trim());
+            }
+        }
+        this.replayServers = Collections.unmodifiableList(replayServers);
+
+        // metrics, NoMetrics -> not exported
+        this.metricsFile = stringValue("METRICS_FILE", "NoMetrics");
+
+        String metricsFormat = value("METRICS_FORMAT");
+        if (!EnumUtils.isValidEnum(METRICS_FORMATS.class, metricsFormat)) {
+            metricsFormat = "PROMETHEUS";
+            if (!this.metricsFile.equals("NoMetrics")) {
+                System.out.println("A problem occurred getting the metrics format -> Switched to default values.");
+            }
+        }
+        this.metricsFormat = metricsFormat;
+        this.metricsIntervalMillis = intValue("METRICS_INTERVAL_MILLIS", 5000, 100, Integer.MAX_VALUE,
+                "the metrics interval");
+
+        // flight recording, NoRecording -> not started
+        this.jfrFile = stringValue("JFR_FILE", "NoRecording");
+        this.jfrSettings = stringValue("JFR_SETTINGS", "profile");
+    }
+
+    /**
+     * This method returns the configuration of the <i>properties</i> file, reading it the first time.
+     *
+     * @return the configuration.
+     */
+    public static GaConfig getDefault() {
+        GaConfig result = instance;
+
+        if (result == null) {
+            synchronized (GaConfig.class) {
+                result = instance;
+                if (result == null) {
+                    instance = result = load();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This method reads the <i>properties</i> file and the overrides.
+     *
+     * @return a new configuration.
+     */
+    public static GaConfig load() {
+        Properties props = new Properties();
+
+        try (InputStream input = GaConfig.class.getResourceAsStream(PROPS_PATH)) {
+            if (input == null) {
+                System.out.println("Sorry, unable to find " + PROPS_PATH + ", starting with default values.");
+            } else {
+                props.load(input);
+            }
+        } catch (IOException ie) {
+            System.out.println("Error! File may not exist or incorrect data may have been entered please check.");
+        }
+        return new GaConfig(props, null, 0, 0);
+    }
+
+    /**
+     * This method creates a configuration from some properties and the overrides.
+     *
+     * @param props the properties, with the same keys as the <i>properties</i> file.
+     * @return a new configuration.
+     */
+    public static GaConfig from(Properties props) {
+        return new GaConfig(props, null, 0, 0);
+    }
+
+    /**
+     * This method creates the configuration of an island. Any property given for the island, with the
+     * <i>ISLAND_N_</i> prefix (eg: <i>ISLAND_2_CROSSOVER_TYPE=UNIFORM</i>), takes the place of the property for
+     * every island. An island without a seed of its own gets a different seed derived from the session seed.
+     *
+     * @param island the number of the island, from 1 to the number of islands.
+     * @return the configuration of the island.
+     */
+    public GaConfig forIsland(int island) {
+        return forIsland(island, 0);
+    }
+
+    /**
+     * This method creates the configuration of an island of a node of a distributed session, whose seed is derived
+     * from the number of the node too, so the nodes don't repeat each other.
+     *
+     * @param island the number of the island, from 1 to the number of islands.
+     * @param node   the number of the node, given by the coordinator.
+     * @return the configuration of the island.
+     */
+    public GaConfig forIsland(int island, int node) {
+        if (island < 1 || island > this.islands) {
+            throw new IllegalArgumentException("There is no island " + island + ".");
+        }
+        return new GaConfig(this.props, this, island, node);
+    }
+
+    /**
+     * Finds the value of a property, the value for the island taking the place of the value for every island.
+     */
+    private String value(String key) {
+        String value = this.prefix == null ? null : lookup(this.prefix + key);
+        return value == null ? lookup(key) : value;
+    }
+
+    /**
+     * Finds the value of a key: a system property, else an environment variable, else the file.
+     */
+    private String lookup(String key) {
+        String value = System.getProperty("ga." + key);
+
+        if (value == null) {
+            value = System.getenv("GA_" + key);
+        }
+        if (value == null) {
+            value = this.props.getProperty(key);
+        }
+        return value == null ? null : value.trim();
+    }
+
+    private String stringValue(String key, String defaultValue) {
+        String value = value(key);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    /**
+     * Reads an integer property, a missing or invalid value is replaced by the default value, printing the problem
+     * if it has a name.
+     */
+    private int intValue(String key, int defaultValue, int min, int max, String name) {
+        try {
+            int value = Integer.parseInt(value(key));
+
+            if (value >= min && value <= max) {
+                return value;
+            }
+        } catch (NumberFormatException n) {
+            // missing or not a number
+        }
+
+        if (name != null) {
+            System.out.println("A problem occurred getting " + name + " -> Switched to default values.");
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Reads a decimal property, a missing or invalid value is replaced by the default value, printing the problem
+     * if it has a name.
+     */
+    private double doubleValue(String key, double defaultValue, double min, double max, String name) {
+        try {
+            double value = Double.parseDouble(value(key));
+
+            if (value >= min && value <= max) {
+                return value;
+            }
+        } catch (NullPointerException | NumberFormatException n) {
+            // missing or not a number
+        }
+
+        if (name != null) {
+            System.out.println("A problem occurred getting " + name + " -> Switched to default values.");
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Reads the frequency of each button, which must add up to 100.
+     */
+    private int[] buttonFrequencies() {
+        int[] frequencies = new int[12];
+        int total = 0;
+
+        for (int button = 0; button < frequencies.length; button++) {
+            frequencies[button] = intValue("FREQUENCY_BUTTON_" + button, -1, 0, 100, null);
+
+            if (frequencies[button] < 0) {
+                total = -1;
+                break;
+            }
+            total += frequencies[button];
+        }
+
+        if (total != 100) {
+            System.out.println("A problem occurred getting button frequencies -> Switched to default values");
+            return new int[]{2, 10, 20, 30, 10, 10, 3, 5, 5, 3, 1, 1};
+        }
+        return frequencies;
+    }
+
+    public int getWorld() {
+        return this.world;
+    }
+
+    public int getStage() {
+        return this.stage;
+    }
+
+    /**
+     * A getter method that returns the level
+     *
+     * @return a string representing the level, eg: <i>SuperMarioBros-1-1-v0</i>
+     */
+    public String getLevel() {
+        return this.level;
+    }
+
+    /**
+     * A getter method that returns the time given to finish the level
+     *
+     * @return the time of the level
+     */
+    public int getLevelTime() {
+        return GeneticAlgorithm.levelTimeMapping[this.world - 1][this.stage - 1];
+    }
+
+    public boolean isRender() {
+        return this.render;
+    }
+
+    /**
+     * A getter method that returns the frequency of each button in random inputs
+     *
+     * @return a copy of the frequencies, adding up to 100
+     */
+    public int[] getButtonFrequencies() {
+        return this.buttonFrequencies.clone();
+    }
+
+    public int getScoreWeight() {
+        return this.scoreWeight;
+    }
+
+    public int getCoinWeight() {
+        return this.coinWeight;
+    }
+
+    public int getSpeedrunWeight() {
+        return this.speedrunWeight;
+    }
+
+    public int getPopulationSize() {
+        return this.populationSize;
+    }
+
+    public int getGenerations() {
+        return this.generations;
+    }
+
+    /**
+     * A getter method that returns the fitness value which stops the session when the best chromosome reaches it
+     *
+     * @return the fitness value, 0 if it isn't used
+     */
+    public double getStopFitness() {
+        return this.stopFitness;
+    }
+
+    public boolean isStopOnFlag() {
+        return this.stopOnFlag;
+    }
+
+    /**
+     * A getter method that returns the time left a run reaching the flag must have to stop the session
+     *
+     * @return the time left
+     */
+    public int getStopFlagTimeLeft() {
+        return this.stopFlagTimeLeft;
+    }
+
+    /**
+     * A getter method that returns the number of generations without a better chromosome which stops the session
+     *
+     * @return the number of generations, 0 if it isn't used
+     */
+    public int getStopStagnantGenerations() {
+        return this.stopStagnantGenerations;
+    }
+
+    public int getStopAfterSeconds() {
+        return this.stopAfterSeconds;
+    }
+
+    public int getStopAfterEvaluations() {
+        return this.stopAfterEvaluations;
+    }
+
+    public String getCrossoverType() {
+        return this.crossoverType;
+    }
+
+    public double getCrossoverOnePointRate() {
+        return this.crossoverOnePointRate;
+    }
+
+    public double getCrossoverMultiPointMin() {
+        return this.crossoverMultiPointMin;
+    }
+
+    public double getCrossoverMultiPointMax() {
+        return this.crossoverMultiPointMax;
+    }
+
+    public int getCrossoverMultiPointCount() {
+        return this.crossoverMultiPointCount;
+    }
+
+    public double getCrossoverUniformRate() {
+        return this.crossoverUniformRate;
+    }
+
+    public double getCrossoverFrequency() {
+        return this.crossoverFrequency;
+    }
+
+    public double getMutationFrequency() {
+        return this.mutationFrequency;
+    }
+
+    /**
+     * A getter method that returns the engine of the genetic algorithm
+     *
+     * @return <i>GENERATIONAL</i> or <i>STEADY_STATE</i>
+     */
+    public String getEngine() {
+        return this.engine;
+    }
+
+    /**
+     * A getter method that returns the chromosome replaced by the steady-state engine
+     *
+     * @return <i>WORST</i> or <i>TOURNAMENT</i>
+     */
+    public String getSteadyStateReplacement() {
+        return this.steadyStateReplacement;
+    }
+
+    public boolean isFitnessProportionate() {
+        return this.fitnessProportionate;
+    }
+
+    public boolean isStochastic() {
+        return this.stochastic;
+    }
+
+    public boolean isTournament() {
+        return this.tournament;
+    }
+
+    public boolean isTruncation() {
+        return this.truncation;
+    }
+
+    public int getTournamentSize() {
+        return this.tournamentSize;
+    }
+
+    public double getTruncationRate() {
+        return this.truncationRate;
+    }
+
+    public boolean isElitism() {
+        return this.elitism;
+    }
+
+    public int getTop() {
+        return this.top;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public String getImpFile() {
+        return this.impFile;
+    }
+
+    /**
+     * A getter method that returns the generation of the import file to import
+     *
+     * @return the number of the generation, or -1 for the last one
+     */
+    public int getImpGeneration() {
+        return this.impGeneration;
+    }
+
+    public String getResumeFile() {
+        return this.resumeFile;
+    }
+
+    public int getLogQueueCapacity() {
+        return this.logQueueCapacity;
+    }
+
+    public int getLogFlushEvery() {
+        return this.logFlushEvery;
+    }
+
+    public int getCheckpointEvery() {
+        return this.checkpointEvery;
+    }
+
+    /**
+     * A getter method that returns the number of the island of this configuration
+     *
+     * @return the number of the island, or 0 if this is the configuration of the whole session
+     */
+    public int getIsland() {
+        return this.island;
+    }
+
+    public int getIslands() {
+        return this.islands;
+    }
+
+    public int getMigrationInterval() {
+        return this.migrationInterval;
+    }
+
+    public int getMigrationSize() {
+        return this.migrationSize;
+    }
+
+    public String getMigrationTopology() {
+        return this.migrationTopology;
+    }
+
+    /**
+     * A getter method that returns the address of the coordinator of a distributed session
+     *
+     * @return the address as host:port, or <i>NoCoordinator</i>
+     */
+    public String getCoordinator() {
+        return this.coordinator;
+    }
+
+    /**
+     * A getter method that returns the port of the coordinator started by this node
+     *
+     * @return the port, or 0 if this node doesn't start a coordinator
+     */
+    public int getCoordinatorPort() {
+        return this.coordinatorPort;
+    }
+
+    public int getMigrationTimeoutMillis() {
+        return this.migrationTimeoutMillis;
+    }
+
+    public String getIp() {
+        return this.ip;
+    }
+
+    /**
+     * A getter method that returns the addresses of the Mario servers
+     *
+     * @return the addresses, as host:port
+     */
+    public List<String> getServers() {
+        return this.servers;
+    }
+
+    public int getMaxInFlight() {
+        return this.maxInFlight;
+    }
+
+    public int getEjectAfterErrors() {
+        return this.ejectAfterErrors;
+    }
+
+    public long getEjectMillis() {
+        return this.ejectMillis;
+    }
+
+    public int getCacheSize() {
+        return this.cacheSize;
+    }
+
+    public int getTrieNodes() {
+        return this.trieNodes;
+    }
+
+    /**
+     * A getter method that returns how the best chromosome is replayed
+     *
+     * @return ASYNC, INLINE or NONE
+     */
+    public String getReplay() {
+        return this.replay;
+    }
+
+    public int getReplayQueueSize() {
+        return this.replayQueueSize;
+    }
+
+    /**
+     * A getter method that returns the addresses of the Mario servers of the replays
+     *
+     * @return the addresses, as host:port, empty if the replays are sent to the servers of the evaluation
+     */
+    public List<String> getReplayServers() {
+        return this.replayServers;
+    }
+
+    /**
+     * A getter method that returns the file the metrics are exported to
+     *
+     * @return the file, or NoMetrics if the metrics aren't exported
+     */
+    public String getMetricsFile() {
+        return this.metricsFile;
+    }
+
+    /**
+     * A getter method that returns the format of the metrics file
+     *
+     * @return PROMETHEUS or JSON
+     */
+    public String getMetricsFormat() {
+        return this.metricsFormat;
+    }
+
+    public int getMetricsIntervalMillis() {
+        return this.metricsIntervalMillis;
+    }
+
+    /**
+     * A getter method that returns the file the flight recording of the session is written to
+     *
+     * @return the file, or NoRecording if no recording is started
+     */
+    public String getJfrFile() {
+        return this.jfrFile;
+    }
+
+    /**
+     * A getter method that returns the settings of the flight recording
+     *
+     * @return default, profile or the path of a settings file
+     */
+    public String getJfrSettings() {
+        return this.jfrSettings;
+    }
+}
@@ -7,18 +7,24 @@ import java.util.ArrayList;
  */
 public class Generation implements Cloneable {
     private final int population;
+    private final int levelTime;
     private ArrayList<Chromosome> generation;
     private double genAvgPos;
     private double genAvgSpeed;
 
+    // statistics of the evaluated chromosomes
+    private GenerationStats stats;
+    private int statsLevelTime;
+
     /**
      * This method creates a new instance of the <i>Generation class</i>.
      *
-     * @param population, size of the population.
+     * @param config, the configuration with the size of the population and the level played.
      */
-    public Generation(int population) {
-        this.population = population;
-        this.generation = new ArrayList<>(population);
+    public Generation(GaConfig config) {
+        this.population = config.getPopulationSize();
+        this.levelTime = config.getLevelTime();
+        this.generation = new ArrayList<>(this.population);
     }
 
     public ArrayList<Chromosome> getGeneration() {
@@ -27,86 +33,82 @@ public class Generation implements Cloneable {
 
     public void setGeneration(ArrayList<Chromosome> generation) {
         this.generation = generation;
+        this.stats = null;
     }
 
     /**
-     * This method calculates a generation average x_pos value in the game stage.
+     * This method returns the statistics of the generation, computed once its chromosomes are evaluated and cached
+     * until {@link #invalidateStats()} is called.
      *
-     * @return the generation average x_pos
-     * @throws NullPointerException in case of a NullPointerException it will return 0.
+     * @param world represents the world.
+     * @param level represents the level.
+     * @return the statistics of the generation.
      */
-    public double calculateGenAveragePos() {
-        try {
-            double pos = 0.0;
+    public GenerationStats getStats(int world, int level) {
+        int levelTime = GeneticAlgorithm.levelTimeMapping[world - 1][level - 1];
 
-            for (Chromosome tmp : generation) {
-                pos += tmp.getResults().getX_pos();
-            }
+        if (this.stats == null || this.statsLevelTime != levelTime) {
+            this.stats = new GenerationStats(this.generation, levelTime);
+            this.statsLevelTime = levelTime;
+        }
+        return this.stats;
+    }
 
-            return pos / population;
-        } catch (NullPointerException n) {
-            return 0;
+    /**
+     * This method returns the statistics of the generation in the level of its configuration.
+     *
+     * @return the statistics of the generation.
+     */
+    public GenerationStats getStats() {
+        if (this.stats == null || this.statsLevelTime != this.levelTime) {
+            this.stats = new GenerationStats(this.generation, this.levelTime);
+            this.statsLevelTime = this.levelTime;
         }
+        return this.stats;
+    }
+
+    /**
+     * This method discards the cached statistics, it must be called when the results or the fitness values of the
+     * chromosomes change.
+     */
+    public void invalidateStats() {
+        this.stats = null;
+    }
+
+    /**
+     * This method calculates a generation average x_pos value in the game stage.
+     *
+     * @return the generation average x_pos, 0 if no chromosome was played.
+     */
+    public double calculateGenAveragePos() {
+        return getStats().getPos().getMean();
     }
 
     /**
      * This method calculates a generation average completion time in the game stage.
      *
-     * @return the generation average time.
-     * @throws NullPointerException in case of a NullPointerException it will return 0.
+     * @return the generation average time, 0 if no chromosome was played.
      */
     public double calculateGenAverageTime() {
-        try {
-            double time = 0.0;
-
-            for (Chromosome tmp : generation) {
-                time += tmp.getResults().getTime_left();
-            }
-
-            return time / population;
-        } catch (NullPointerException n) {
-            return 0;
-        }
+        return getStats().getTime().getMean();
     }
 
     /**
      * This method calculates a generation average coins collected in the game stage.
      *
-     * @return the generation average coins collected.
-     * @throws NullPointerException in case of a NullPointerException it will return 0.
+     * @return the generation average coins collected, 0 if no chromosome was played.
      */
     public double calculateGenAverageCoins() {
-        try {
-            double coins = 0.0;
-
-            for (Chromosome tmp : generation) {
-                coins += tmp.getResults().getCoins();
-            }
-
-            return coins / population;
-        } catch (NullPointerException n) {
-            return 0;
-        }
+        return getStats().getCoins().getMean();
     }
 
     /**
      * This method calculates a generation average score in the game stage.
      *
-     * @return the generation average score.
-     * @throws NullPointerException in case of a NullPointerException it will return 0.
+     * @return the generation average score, 0 if no chromosome was played.
      */
     public double calculateGenAverageScore() {
-        try {
-            double score = 0.0;
-
-            for (Chromosome tmp : generation) {
-                score += tmp.getResults().getScore();
-            }
-
-            return score / population;
-        } catch (NullPointerException n) {
-            return 0;
-        }
+        return getStats().getScore().getMean();
     }
 
     /**
@@ -114,24 +116,10 @@ public class Generation implements Cloneable {
      *
      * @param world represents the world.
      * @param level represents the level.
-     * @return the generation average speed.
-     * @throws NullPointerException in case NullPointerException it will return 0.
+     * @return the generation average speed, 0 if no chromosome was played.
      */
     public double calculateGenAverageSpeed(int world, int level) {
-        try {
-            double speed = 0.0;
-
-            for (Chromosome tmp : generation) {
-                double pos = tmp.getResults().getX_pos();
-                double time = tmp.getResults().getTime_left();
-
-                speed += pos / (GeneticAlgorithm.levelTimeMapping[world - 1][level - 1] - time);
-            }
-
-            return speed / population;
-        } catch (NullPointerException n) {
-            return 0;
-        }
+        return getStats(world, level).getSpeed().getMean();
     }
 
     /**
@@ -139,19 +127,9 @@ public class Generation implements Cloneable {
      * In order to determine the best solution.
      *
      * @return the generation average fitness score.
-     * @throws NullPointerException in case of a NullPointerException it will return 0.
      */
     public double calculateGenAverageFitnessScore() {
-        try {
-            double fitness = 0.0;
-
-            for (Chromosome tmp : generation) {
-                fitness += tmp.getFitnessValue();
-            }
-            return fitness / population;
-        } catch (NullPointerException n) {
-            return 0;
-        }
+        return getStats().getFitness().getMean();
     }
 
     /**
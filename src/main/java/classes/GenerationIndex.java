@@ -0,0 +1,295 @@
+package classes;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class that represents the sidecar index of a log or import file, a table with the position of each generation in
+ * the file. It lets a generation be read without reading the generations before it.
+ * <p>
+ * The index is stored next to the file, with the <i>.idx</i> extension. Format, version 1 (big endian):
+ * <pre>
+ * int    magic "MGAI"
+ * short  version
+ * each generation, in the order they were written:
+ *   int  generation number
+ *   long offset of the "Generation - N" line
+ *   long length of the generation, in bytes
+ * </pre>
+ * Files without an index, or with generations written after their index, are scanned once for their
+ * "Generation - N" lines and the index is brought up to date.
+ */
+public final class GenerationIndex implements AutoCloseable {
+
+    private static final int MAGIC = 0x4D474149;
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2;
+    private static final int ENTRY_SIZE = 4 + 8 + 8;
+
+    private static final byte[] MARKER = "Generation - ".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+
+    private GenerationIndex(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * This method opens the index of a file to add the generations written to it.
+     *
+     * @param file the log or import file.
+     * @return the index.
+     * @throws IOException if the index couldn't be opened.
+     */
+    public static GenerationIndex open(Path file) throws IOException {
+        if (Files.exists(file)) {
+            load(file);
+        } else {
+            write(indexOf(file), new ArrayList<>());
+        }
+        return new GenerationIndex(FileChannel.open(indexOf(file), StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND));
+    }
+
+    /**
+     * This method adds a generation to the index.
+     *
+     * @param numGen the number of the generation.
+     * @param offset the position of the generation in the file.
+     * @param length the length of the generation, in bytes.
+     * @throws IOException if the index couldn't be written.
+     */
+    public void add(int numGen, long offset, long length) throws IOException {
+        this.entry.clear();
+        this.entry.putInt(numGen).putLong(offset).putLong(length).flip();
+
+        while (this.entry.hasRemaining()) {
+            this.channel.write(this.entry);
+        }
+    }
+
+    /**
+     * This method forces the added generations to the disk.
+     *
+     * @throws IOException if the index couldn't be written.
+     */
+    public void force() throws IOException {
+        this.channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * This method finds a generation of a file.
+     *
+     * @param file   the log or import file.
+     * @param numGen the number of the generation, or a negative number for the last generation.
+     * @return the last generation written with that number, or null if there isn't one.
+     * @throws IOException if the file couldn't be read.
+     */
+    public static Entry find(Path file, int numGen) throws IOException {
+        List<Entry> entries = load(file);
+
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (numGen < 0 || entries.get(i).getNumGen() == numGen) {
+                return entries.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method reads a single generation of a file.
+     *
+     * @param file  the log or import file.
+     * @param entry the generation, as found in the index.
+     * @return a reader over the lines of the generation.
+     * @throws IOException if the file couldn't be read.
+     */
+    public static BufferedReader read(Path file, Entry entry) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, entry.getOffset(), entry.getLength());
+            return new BufferedReader(new StringReader(StandardCharsets.UTF_8.decode(bytes).toString()));
+        }
+    }
+
+    /**
+     * This method returns every generation of a file, updating its index when it's missing or behind the file.
+     *
+     * @param file the log or import file.
+     * @return the generations, in the order they were written.
+     * @throws IOException if the file couldn't be read.
+     */
+    public static List<Entry> load(Path file) throws IOException {
+        Path index = indexOf(file);
+        long size = Files.size(file);
+
+        List<Entry> entries = readIndex(index, size);
+        boolean valid = entries != null;
+        if (!valid) {
+            entries = new ArrayList<>();
+        }
+
+        // generations written after the index, or every generation if there's no index
+        long end = entries.isEmpty() ? 0 : entries.get(entries.size() - 1).getEnd();
+        List<Entry> scanned = end < size ? scan(file, end, size) : new ArrayList<>();
+
+        if (!scanned.isEmpty() || !valid) {
+            entries.addAll(scanned);
+            try {
+                write(index, entries);
+            } catch (IOException e) {
+                System.err.println("It wasn't possible to update the index " + index + ".");
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Finds the index of a file.
+     */
+    private static Path indexOf(Path file) {
+        return file.resolveSibling(file.getFileName() + ".idx");
+    }
+
+    /**
+     * Reads an index, returns null if it doesn't exist or doesn't match the file.
+     */
+    private static List<Entry> readIndex(Path index, long size) throws IOException {
+        if (!Files.exists(index)) {
+            return null;
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(index));
+        if (bytes.remaining() < HEADER_SIZE || bytes.getInt() != MAGIC || bytes.getShort() != VERSION) {
+            return null;
+        }
+
+        List<Entry> entries = new ArrayList<>(bytes.remaining() / ENTRY_SIZE);
+        while (bytes.remaining() >= ENTRY_SIZE) {
+            Entry tmp = new Entry(bytes.getInt(), bytes.getLong(), bytes.getLong());
+
+            // the file was replaced or truncated
+            if (tmp.getEnd() > size) {
+                return null;
+            }
+            entries.add(tmp);
+        }
+
+        // a generation only partly added
+        return bytes.hasRemaining() ? null : entries;
+    }
+
+    /**
+     * Writes a whole index.
+     */
+    private static void write(Path index, List<Entry> entries) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(HEADER_SIZE + entries.size() * ENTRY_SIZE);
+        bytes.putInt(MAGIC).putShort(VERSION);
+
+        for (Entry tmp : entries) {
+            bytes.putInt(tmp.getNumGen()).putLong(tmp.getOffset()).putLong(tmp.getLength());
+        }
+        bytes.flip();
+
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Finds the "Generation - N" lines of a part of a file, each generation lasting until the next one.
+     */
+    private static List<Entry> scan(Path file, long from, long to) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+
+            int numGen = -1;
+            long start = 0;
+            boolean lineStart = true;
+
+            for (int i = 0; i < bytes.limit(); i++) {
+                if (lineStart && startsWithMarker(bytes, i)) {
+                    if (numGen >= 0) {
+                        entries.add(new Entry(numGen, start, from + i - start));
+                    }
+
+                    numGen = 0;
+                    start = from + i;
+                    for (int j = i + MARKER.length; j < bytes.limit() && Character.isDigit(bytes.get(j)); j++) {
+                        numGen = numGen * 10 + (bytes.get(j) - '0');
+                    }
+                }
+                lineStart = bytes.get(i) == '\n';
+            }
+
+            if (numGen >= 0) {
+                entries.add(new Entry(numGen, start, to - start));
+            }
+        }
+        return entries;
+    }
+
+    private static boolean startsWithMarker(ByteBuffer bytes, int pos) {
+        if (pos + MARKER.length > bytes.limit()) {
+            return false;
+        }
+
+        for (int i = 0; i < MARKER.length; i++) {
+            if (bytes.get(pos + i) != MARKER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A generation of a file
+     */
+    public static final class Entry {
+        private final int numGen;
+        private final long offset;
+        private final long length;
+
+        private Entry(int numGen, long offset, long length) {
+            this.numGen = numGen;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public int getNumGen() {
+            return this.numGen;
+        }
+
+        public long getOffset() {
+            return this.offset;
+        }
+
+        public long getLength() {
+            return this.length;
+        }
+
+        private long getEnd() {
+            return this.offset + this.length;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package classes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class that stores the generations of a session in its log and import files, on a thread of its own. Generations
+ * are queued as snapshots and written in batches, each file being opened once for the whole session. The position
+ * of each generation is added to the index of each file.
+ * <p>
+ * The queue is bounded: if the disk falls that many generations behind, storing a generation waits for room in
+ * the queue instead of holding every generation in memory.
+ */
+public class GenerationLogWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel log;
+    private final FileChannel imp;
+    private final GenerationIndex logIndex;
+    private final GenerationIndex impIndex;
+    private final int flushEvery;
+
+    private final BlockingQueue<GenerationSnapshot> queue;
+    private final Thread thread;
+    private volatile boolean closing = false;
+
+    // used only by the writer thread
+    private final StringBuilder text = new StringBuilder(BUFFER_SIZE);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private int unflushed = 0;
+    private int lastGen = 0;
+    private boolean failed = false;
+
+    // set before the first generation is queued
+    private Path checkpointFile;
+    private long seed;
+    private int checkpointEvery;
+
+    /**
+     * This method creates a new instance of the <i>GenerationLogWriter class</i>, opening (or creating) both files.
+     *
+     * @param logFile    the log file, with the complete information of each chromosome.
+     * @param importFile the import file, with the inputs of each chromosome.
+     * @param header     the text written at the top of a new log file.
+     * @param capacity   the number of generations which can wait to be written.
+     * @param flushEvery the number of generations written between each flush to the disk.
+     * @throws IOException if a file couldn't be opened.
+     */
+    public GenerationLogWriter(Path logFile, Path importFile, String header, int capacity, int flushEvery)
+            throws IOException {
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        Files.createDirectories(importFile.toAbsolutePath().getParent());
+
+        this.log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        try {
+            this.imp = FileChannel.open(importFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            this.log.close();
+            throw e;
+        }
+
+        try {
+            this.logIndex = GenerationIndex.open(logFile);
+            this.impIndex = GenerationIndex.open(importFile);
+        } catch (IOException e) {
+            this.log.close();
+            this.imp.close();
+            throw e;
+        }
+
+        this.flushEvery = Math.max(1, flushEvery);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+
+        if (this.log.size() == 0 && header != null) {
+            write(this.log, this.text.append(header));
+        }
+
+        this.thread = new Thread(this::run, "log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * This method makes the writer also keep a binary checkpoint of the last generations written. It must be called
+     * before the first generation is queued.
+     *
+     * @param file  the checkpoint file, replaced by each new checkpoint.
+     * @param seed  the seed of the session.
+     * @param every the number of generations between each checkpoint.
+     */
+    public void enableCheckpoints(Path file, long seed, int every) {
+        this.checkpointFile = file;
+        this.seed = seed;
+        this.checkpointEvery = Math.max(1, every);
+    }
+
+    /**
+     * This method queues a generation to be written, waiting only if the queue is full.
+     *
+     * @param snapshot the generation.
+     */
+    public void submit(GenerationSnapshot snapshot) {
+        if (this.closing) {
+            throw new IllegalStateException("The log writer is closed.");
+        }
+
+        try {
+            this.queue.put(snapshot);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while storing generation " + snapshot.getNumGen() + ".");
+        }
+    }
+
+    /**
+     * This method returns the number of generations waiting to be written.
+     *
+     * @return the size of the queue.
+     */
+    public int getQueued() {
+        return this.queue.size();
+    }
+
+    /**
+     * This method writes the generations still queued and closes the files.
+     */
+    @Override
+    public void close() {
+        close(null);
+    }
+
+    /**
+     * This method writes the generations still queued, then a text at the end of the log file, and closes the files.
+     *
+     * @param footer the text written after the last generation (eg: why the session stopped), or null.
+     */
+    public void close(String footer) {
+        if (this.closing) {
+            return;
+        }
+        this.closing = true;
+
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            if (footer != null && !this.failed) {
+                write(this.log, this.text.append(footer));
+            }
+        } catch (IOException e) {
+            System.err.println("Something went wrong writing the end of the log file.");
+        }
+
+        try {
+            this.log.close();
+            this.imp.close();
+            this.logIndex.close();
+            this.impIndex.close();
+        } catch (IOException e) {
+            System.err.println("Something went wrong closing the log files.");
+        }
+    }
+
+    /**
+     * Writes the queued generations until the writer is closed.
+     */
+    private void run() {
+        ArrayList<GenerationSnapshot> batch = new ArrayList<>();
+
+        while (!this.closing || !this.queue.isEmpty()) {
+            try {
+                GenerationSnapshot first = this.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                this.queue.drainTo(batch);
+
+                for (GenerationSnapshot snapshot : batch) {
+                    store(snapshot);
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                // only close() stops the writer
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Writes a generation to both files.
+     */
+    private void store(GenerationSnapshot snapshot) {
+        // the generations are still taken from the queue after a failure, so the algorithm never waits on them
+        if (this.failed) {
+            return;
+        }
+
+        try {
+            long offset = this.log.size();
+            snapshot.writeLog(this.text);
+            write(this.log, this.text);
+            this.logIndex.add(snapshot.getNumGen(), offset, this.log.size() - offset);
+
+            offset = this.imp.size();
+            snapshot.writeImport(this.text);
+            write(this.imp, this.text);
+            this.impIndex.add(snapshot.getNumGen(), offset, this.imp.size() - offset);
+            this.lastGen = snapshot.getNumGen();
+        } catch (IOException e) {
+            this.failed = true;
+            System.err.println("Something went wrong storing generation " + snapshot.getNumGen()
+                    + " to a file, the next generations won't be stored.");
+            return;
+        }
+
+        if (++this.unflushed >= this.flushEvery) {
+            flush();
+        }
+
+        if (this.checkpointFile != null && snapshot.getNumGen() % this.checkpointEvery == 0) {
+            try {
+                Checkpoint.write(this.checkpointFile, snapshot, this.seed);
+            } catch (IOException e) {
+                System.err.println("Something went wrong writing the checkpoint of generation "
+                        + snapshot.getNumGen() + ".");
+            }
+        }
+    }
+
+    /**
+     * Forces the written generations to the disk.
+     */
+    private void flush() {
+        if (this.unflushed == 0 || this.failed) {
+            return;
+        }
+
+        FlightRecording.PersistenceFlush event = new FlightRecording.PersistenceFlush();
+        event.begin();
+
+        try {
+            this.log.force(false);
+            this.imp.force(false);
+            this.logIndex.force();
+            this.impIndex.force();
+
+            event.generation = this.lastGen;
+            event.forced = true;
+            event.generations = this.unflushed;
+            event.commit();
+            this.unflushed = 0;
+        } catch (IOException e) {
+            System.err.println("Something went wrong flushing the log files.");
+        }
+    }
+
+    /**
+     * Encodes a text through the buffer to a file, then empties the text.
+     */
+    private void write(FileChannel channel, StringBuilder text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        this.encoder.reset();
+
+        // the buffer is written every time it fills up
+        while (this.encoder.encode(chars, this.buffer, true).isOverflow()) {
+            drain(channel);
+        }
+        while (this.encoder.flush(this.buffer).isOverflow()) {
+            drain(channel);
+        }
+        drain(channel);
+        text.setLength(0);
+    }
+
+    /**
+     * Writes the content of the buffer to a file.
+     */
+    private void drain(FileChannel channel) throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+}
@@ -0,0 +1,179 @@
+package classes;
+
+import luigi.RunResult;
+
+import java.util.List;
+
+/**
+ * Class that represents a generation as it was when it was stored. A snapshot only holds immutable values, so it can
+ * be written to a file by another thread while the next generation is being bred.
+ */
+public final class GenerationSnapshot {
+
+    private static final String NEW_LINE = System.lineSeparator();
+
+    // results written for the chromosomes without results
+    private static final RunResult NOT_PLAYED = new RunResult();
+
+    private final int numGen;
+    private final String level;
+    private final int levelTime;
+
+    private final Genome[] inputs;
+    private final RunResult[] results;
+    private final double[] fitness;
+
+    private final double averageTime;
+    private final double averageSpeed;
+    private final double averagePos;
+    private final double averageCoins;
+    private final double averageScore;
+    private final double averageFitness;
+
+    /**
+     * This method takes a snapshot of a generation.
+     *
+     * @param generation the generation.
+     * @param numGen     the number of the generation.
+     * @param level      the level played.
+     * @param world      the world of the level, between 1 and 8.
+     * @param stage      the stage of the level, between 1 and 4.
+     */
+    public GenerationSnapshot(Generation generation, int numGen, String level, int world, int stage) {
+        List<Chromosome> chromosomes = generation.getGeneration();
+
+        this.numGen = numGen;
+        this.level = level;
+        this.levelTime = GeneticAlgorithm.levelTimeMapping[world - 1][stage - 1];
+
+        this.inputs = new Genome[chromosomes.size()];
+        this.results = new RunResult[chromosomes.size()];
+        this.fitness = new double[chromosomes.size()];
+
+        for (int i = 0; i < chromosomes.size(); i++) {
+            Chromosome tmp = chromosomes.get(i);
+            this.inputs[i] = tmp.getInputs();
+            // chromosomes received from another node weren't played by this one
+            this.results[i] = tmp.getResults() != null ? tmp.getResults() : NOT_PLAYED;
+            this.fitness[i] = tmp.getFitnessValue();
+        }
+
+        GenerationStats stats = generation.getStats(world, stage);
+        this.averageTime = stats.getTime().getMean();
+        this.averageSpeed = stats.getSpeed().getMean();
+        this.averagePos = stats.getPos().getMean();
+        this.averageCoins = stats.getCoins().getMean();
+        this.averageScore = stats.getScore().getMean();
+        this.averageFitness = stats.getFitness().getMean();
+    }
+
+    /**
+     * This method writes the generation with the complete information of each chromosome, as stored in the
+     * <i>logs</i> directory.
+     *
+     * @param text where to write.
+     */
+    public void writeLog(StringBuilder text) {
+        writeHeader(text);
+
+        for (int i = 0; i < this.inputs.length; i++) {
+            RunResult tmp = this.results[i];
+
+            text.append("CHROMOSOME: ").append(i + 1).append(NEW_LINE);
+            this.inputs[i].appendTo(text.append("SOLUTION: ")).append(NEW_LINE);
+            text.append("COINS: ").append(tmp.getCoins()).append(NEW_LINE);
+            text.append("TIME_LEFT: ").append(tmp.getTime_left()).append(NEW_LINE);
+            text.append("X_POS: ").append(tmp.getX_pos()).append(NEW_LINE);
+            text.append("SPEED: ").append(((double) tmp.getX_pos()) / (((double) this.levelTime) -
+                    ((double) tmp.getTime_left()))).append(NEW_LINE);
+            text.append("SCORE: ").append(tmp.getScore()).append(NEW_LINE);
+            text.append("FLAG: ").append(tmp.getFlag_get()).append(NEW_LINE);
+            text.append("REASON_FINISH: ").append(tmp.getReason_finish()).append(NEW_LINE);
+            text.append("STATUS: ").append(tmp.getStatus()).append(NEW_LINE);
+            text.append("COMMANDS_USED: ").append(tmp.getCommands_used()).append(NEW_LINE);
+            text.append("FITNESS VALUE: ").append(this.fitness[i]).append(NEW_LINE);
+            text.append(NEW_LINE);
+        }
+
+        // the average time, coins, score and fitness score for the generation (basic information)
+        text.append("Average Generation Time: ").append(this.averageTime).append(NEW_LINE);
+        text.append("Average Generation Speed: ").append(this.averageSpeed).append(NEW_LINE);
+        text.append("Average Generation Pos: ").append(this.averagePos).append(NEW_LINE);
+        text.append("Average Generation Coins: ").append(this.averageCoins).append(NEW_LINE);
+        text.append("Average Generation Score: ").append(this.averageScore).append(NEW_LINE);
+        text.append("Average Generation Fitness Score: ").append(this.averageFitness).append(NEW_LINE);
+    }
+
+    /**
+     * This method writes the generation with the inputs of each chromosome, as stored in the <i>imports</i>
+     * directory.
+     *
+     * @param text where to write.
+     */
+    public void writeImport(StringBuilder text) {
+        writeHeader(text);
+
+        for (int i = 0; i < this.inputs.length; i++) {
+            text.append("CHROMOSOME: ").append(i + 1).append(NEW_LINE);
+            this.inputs[i].appendTo(text.append("SOLUTION: ")).append(NEW_LINE);
+            text.append("FITNESS VALUE: ").append(this.fitness[i]).append(NEW_LINE);
+            text.append(NEW_LINE);
+        }
+    }
+
+    /**
+     * Writes the generation number and world (basic information).
+     */
+    private void writeHeader(StringBuilder text) {
+        text.append("Generation - ").append(this.numGen).append(NEW_LINE);
+        text.append("World - ").append(this.level).append(NEW_LINE);
+        text.append(NEW_LINE);
+    }
+
+    /**
+     * A getter method that returns the number of the generation
+     *
+     * @return the number of the generation
+     */
+    public int getNumGen() {
+        return this.numGen;
+    }
+
+    /**
+     * A getter method that returns the level
+     *
+     * @return a string representing the level
+     */
+    public String getLevel() {
+        return this.level;
+    }
+
+    /**
+     * This method returns the inputs of a chromosome.
+     *
+     * @param chromosome the position of the chromosome.
+     * @return the inputs.
+     */
+    public Genome getInputs(int chromosome) {
+        return this.inputs[chromosome];
+    }
+
+    /**
+     * This method returns the fitness value of a chromosome.
+     *
+     * @param chromosome the position of the chromosome.
+     * @return the fitness value.
+     */
+    public double getFitness(int chromosome) {
+        return this.fitness[chromosome];
+    }
+
+    /**
+     * This method returns the number of chromosomes.
+     *
+     * @return the number of chromosomes.
+     */
+    public int size() {
+        return this.inputs.length;
+    }
+}
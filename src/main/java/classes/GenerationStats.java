@@ -0,0 +1,147 @@
+package classes;
+
+import luigi.RunResult;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class that represents the statistics of a generation, computed in a single pass over its chromosomes. The game
+ * metrics only count the chromosomes which were played, the fitness counts every chromosome.
+ */
+public final class GenerationStats {
+
+    private final int size;
+    private final MetricSummary pos;
+    private final MetricSummary time;
+    private final MetricSummary coins;
+    private final MetricSummary score;
+    private final MetricSummary speed;
+    private final MetricSummary fitness;
+
+    /**
+     * This method computes the statistics of a generation.
+     *
+     * @param chromosomes the chromosomes of the generation.
+     * @param levelTime   the time given to finish the level, used for the speed.
+     */
+    public GenerationStats(List<Chromosome> chromosomes, int levelTime) {
+        int size = chromosomes.size();
+
+        Accumulator pos = new Accumulator(size);
+        Accumulator time = new Accumulator(size);
+        Accumulator coins = new Accumulator(size);
+        Accumulator score = new Accumulator(size);
+        Accumulator speed = new Accumulator(size);
+        Accumulator fitness = new Accumulator(size);
+
+        for (Chromosome tmp : chromosomes) {
+            fitness.add(tmp.getFitnessValue());
+
+            RunResult results = tmp.getResults();
+            if (results == null) {
+                continue;
+            }
+
+            pos.add(results.getX_pos());
+            time.add(results.getTime_left());
+            coins.add(results.getCoins());
+            score.add(results.getScore());
+            speed.add(((double) results.getX_pos()) / (((double) levelTime) - ((double) results.getTime_left())));
+        }
+
+        this.size = size;
+        this.pos = pos.summary();
+        this.time = time.summary();
+        this.coins = coins.summary();
+        this.score = score.summary();
+        this.speed = speed.summary();
+        this.fitness = fitness.summary();
+    }
+
+    /**
+     * A getter method that returns the number of chromosomes of the generation
+     *
+     * @return the number of chromosomes
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    public MetricSummary getPos() {
+        return this.pos;
+    }
+
+    public MetricSummary getTime() {
+        return this.time;
+    }
+
+    public MetricSummary getCoins() {
+        return this.coins;
+    }
+
+    public MetricSummary getScore() {
+        return this.score;
+    }
+
+    public MetricSummary getSpeed() {
+        return this.speed;
+    }
+
+    public MetricSummary getFitness() {
+        return this.fitness;
+    }
+
+    @Override
+    public String toString() {
+        return "X_POS - " + this.pos + "\nTIME_LEFT - " + this.time + "\nCOINS - " + this.coins
+                + "\nSCORE - " + this.score + "\nSPEED - " + this.speed + "\nFITNESS - " + this.fitness;
+    }
+
+    /**
+     * Accumulates the values of a metric, keeping a running mean and variance (Welford) and the values for the
+     * percentiles.
+     */
+    private static final class Accumulator {
+        private final double[] values;
+        private int count = 0;
+        private double sum = 0;
+        private double mean = 0;
+        private double m2 = 0;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        private Accumulator(int capacity) {
+            this.values = new double[capacity];
+        }
+
+        private void add(double value) {
+            this.values[this.count++] = value;
+            this.sum += value;
+
+            double delta = value - this.mean;
+            this.mean += delta / this.count;
+            this.m2 += delta * (value - this.mean);
+
+            this.min = Math.min(this.min, value);
+            this.max = Math.max(this.max, value);
+        }
+
+        private MetricSummary summary() {
+            if (this.count == 0) {
+                return MetricSummary.EMPTY;
+            }
+
+            Arrays.sort(this.values, 0, this.count);
+            return new MetricSummary(this.count, this.sum / this.count, this.min, this.max,
+                    Math.sqrt(this.m2 / this.count), percentile(0.50), percentile(0.90));
+        }
+
+        /**
+         * Finds a percentile of the sorted values (nearest rank).
+         */
+        private double percentile(double rate) {
+            return this.values[Math.max(0, (int) Math.ceil(rate * this.count) - 1)];
+        }
+    }
+}
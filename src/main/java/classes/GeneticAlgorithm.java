@@ -1,8 +1,6 @@
 package classes;
 
-import javafx.util.Pair;
 import luigi.RunResult;
-import org.apache.commons.lang3.EnumUtils;
 
 import java.io.*;
 import java.nio.file.*;
@@ -16,6 +14,13 @@ public final class GeneticAlgorithm {
     // the instance of this class
     private static volatile GeneticAlgorithm instance;
 
+    // spins of the roulette looking for a second parent which isn't a clone of the first one
+    private static final int MAX_PARENT_ATTEMPTS = 100;
+
+    // phases of a generation with their own random stream
+    private static final int BREED_PHASE = 0;
+    private static final int FITNESS_PHASE = 1;
+
     //solution space
     private final int[] space = new int[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
 
@@ -47,6 +52,9 @@ public final class GeneticAlgorithm {
     private boolean stochastic = false;
     private boolean tournament = false;
     private boolean truncation = false;
+    private int tournamentSize = 3; // between 2-populationSize
+    private double truncationRate = 0.50; // between 0.00-1.00
+    private Selection selection = new FitnessProportionateSelection();
 
     private boolean elitism = true;
     private int top = 5;
@@ -56,9 +64,15 @@ public final class GeneticAlgorithm {
     private double crossoverOnePointRate = 0.50; // between 0.00-1.00
     private double crossoverMultiPointMin = 0.00; // between 0.00-1.00
     private double crossoverMultiPointMax = 0.00; // between 0.00-1.00
+    private int crossoverMultiPointCount = 2; // between 1-10
     private double crossoverUniformRate = 0.50; // between 0.00-1.00
     private double crossoverFrequency = 0.95; // between 0.00-1.00
     private double mutationFrequency = 0.015; // between 0.00-1.00
+    private CrossoverOperator crossoverOperator;
+
+    // reused by every crossover
+    private final Genome.Builder child1Buffer = new Genome.Builder(256);
+    private final Genome.Builder child2Buffer = new Genome.Builder(256);
 
     // stored best values
     private Generation currGen;
@@ -66,224 +80,69 @@ public final class GeneticAlgorithm {
     private Chromosome bestFit;
     private int chromosome = 0;
 
-    private PropertiesInfo pI;
-    // this algorithm session file
-    private String fileName;
-
-    private GeneticAlgorithm() {
-        String propsPath = "/GeneticAlgorithm.properties";
-
-        try (InputStream input = getClass().getResourceAsStream(propsPath)) {
-
-            Properties props = new Properties();
-
-            if (input == null) {
-                System.out.println("Sorry, unable to find " + propsPath + ", starting with default values.");
-                return;
-            }
-
-            props.load(input);
-
-            try {
-                this.render = Boolean.parseBoolean(props.getProperty("RENDER"));
-            } catch (NullPointerException n) {
-                System.out.println("A problem occurred getting render variable -> Switched to default values.");
-            }
-
-            try {
-                int world = Integer.parseInt(props.getProperty("WORLD"));
-                int level = Integer.parseInt(props.getProperty("LEVEL"));
-                int version = Integer.parseInt(props.getProperty("VERSION"));
-
-                if (world >= 1 && world <= 8) {
-                    if (level >= 1 && level <= 4) {
-                        if (version >= 0 && version <= 3) {
-                            this.world = world;
-                            this.lvl = level;
-                            this.level = "SuperMarioBros-" + world + "-" + level + "-v" + version;
-
-                        }
-                    }
-                }
-            } catch (NullPointerException | NumberFormatException n) {
-                System.out.println("A problem occurred getting world, level and version -> Switched to default values.");
-            }
-
-            try {
-                int button0 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_0"));
-                int button1 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_1"));
-                int button2 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_2"));
-                int button3 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_3"));
-                int button4 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_4"));
-                int button5 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_5"));
-                int button6 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_6"));
-                int button7 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_7"));
-                int button8 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_8"));
-                int button9 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_9"));
-                int button10 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_10"));
-                int button11 = Integer.parseInt(props.getProperty("FREQUENCY_BUTTON_11"));
-
-                if (button0 >= 0 && button1 >= 0 && button2 >= 0 && button3 >= 0 && button4 >= 0
-                        && button5 >= 0 && button6 >= 0 && button7 >= 0 && button8 >= 0 && button9 >= 0
-                        && button10 >= 0 && button11 >= 0 && (button0 + button1 + button2 + button3 + button4
-                        + button5 + button6 + button7 + button8 + button9 + button10 + button11) == 100) {
-                    this.buttonFrequencies = new int[]{button0, button1, button2, button3, button4, button5
-                            , button6, button7, button8, button9, button10, button11};
-                } else {
-                    throw new NumberFormatException();
-                }
-            } catch (NullPointerException | NumberFormatException n) {
-                System.out.println("A problem occurred getting button frequencies -> Switched to default values");
-            }
-
-            try {
-                int scoreWeight = Integer.parseInt(props.getProperty("SCORE_WEIGHT"));
-                int coinWeight = Integer.parseInt(props.getProperty("COIN_WEIGHT"));
-                int speedrunWeight = Integer.parseInt(props.getProperty("SPEEDRUN_WEIGHT"));
-
-                if (scoreWeight >= 0 && scoreWeight <= 10) {
-                    this.scoreWeight = scoreWeight;
-                }
+    // random number generators of this session
+    private RandomService randomService;
+    private SplittableRandom random;
 
-                if (coinWeight >= 0 && coinWeight <= 10) {
-                    this.coinWeight = coinWeight;
-                }
+    // configuration of this session
+    private final GaConfig config;
 
-                if (speedrunWeight >= 0 && speedrunWeight <= 10) {
-                    this.speedrunWeight = speedrunWeight;
-                }
-
-            } catch (NullPointerException | NumberFormatException n) {
-                this.scoreWeight = 10;
-                this.coinWeight = 10;
-                this.speedrunWeight = 10;
-                System.out.println("A problem occurred getting weights values -> Switched to default values.");
-            }
-
-            try {
-                int populationSize = Integer.parseInt(props.getProperty("POPULATION_SIZE"));
-
-                if (populationSize >= 0 && populationSize <= 1000) {
-                    this.populationSize = populationSize;
-                }
-            } catch (NullPointerException | NumberFormatException n) {
-                populationSize = 1000;
-                System.out.println("A problem occurred getting population size -> Switched to default values.");
-            }
-
-            try {
-                if (EnumUtils.isValidEnum(CROSSOVER_TYPES.class, props.getProperty("CROSSOVER_TYPE"))) {
-                    this.crossoverType = props.getProperty("CROSSOVER_TYPE");
-                }
-            } catch (NullPointerException n) {
-                System.out.println("A problem occurred getting the crossover type -> Switched to default values.");
-            }
-
-            try {
-                switch (this.crossoverType) {
-                    case "ONE_POINT":
-                        double crossoverOnePointRate = Double.parseDouble(props.getProperty("CROSSOVER_ONE_POINT_RATE"));
-
-                        if (crossoverOnePointRate >= 0.00 && crossoverOnePointRate <= 1.00) {
-                            this.crossoverOnePointRate = crossoverOnePointRate;
-                        }
-                        break;
-
-                    case "MULTI_POINT":
-                        double crossoverMultiPointMin = Double.parseDouble(props.getProperty("CROSSOVER_MULTI_POINT_MIN"));
-                        double crossoverMultiPointMax = Double.parseDouble(props.getProperty("CROSSOVER_MULTI_POINT_MAX"));
-
-                        if (crossoverMultiPointMin >= 0.00 &&
-                                crossoverMultiPointMax >= 0.00 && crossoverMultiPointMax <= 1.00 &&
-                                crossoverMultiPointMax > crossoverMultiPointMin) {
-                            this.crossoverMultiPointMin = crossoverMultiPointMin;
-                            this.crossoverMultiPointMax = crossoverMultiPointMax;
-                        } else {
-                            this.crossoverType = "ONE_POINT";
-                        }
-                        break;
-
-                    case "UNIFORM":
-                        double crossoverUniformRate = Double.parseDouble(props.getProperty("CROSSOVER_UNIFORM_RATE"));
-
-                        if (crossoverUniformRate >= 0.00 && crossoverUniformRate <= 1.00) {
-                            this.crossoverUniformRate = crossoverUniformRate;
-                        } else {
-                            this.crossoverType = "ONE_POINT";
-                        }
-                        break;
-                }
-            } catch (NullPointerException | NumberFormatException n) {
-                this.crossoverType = "ONE_POINT";
-                System.out.println("A problem occurred getting crossover type values -> Switched to default values.");
-            }
-
-            try {
-                double crossoverFrequency = Double.parseDouble(props.getProperty("CROSSOVER_FREQUENCY"));
-                double mutationFrequency = Double.parseDouble(props.getProperty("MUTATION_FREQUENCY"));
-
-                if (crossoverFrequency >= 0.00 && crossoverFrequency <= 1.00) {
-                    this.crossoverFrequency = crossoverFrequency;
-                }
-
-                if (mutationFrequency >= 0.00 && mutationFrequency <= 1.00) {
-                    this.mutationFrequency = mutationFrequency;
-                }
-            } catch (NullPointerException | NumberFormatException n) {
-                System.out.println("A problem occurred getting frequency values -> Switched to default values.");
-            }
-
-            try {
-                boolean fitnessProportionate = Boolean.parseBoolean(props.getProperty("FITNESS_PROPORTIONATE_SELECTION"));
-                boolean stochastic = Boolean.parseBoolean(props.getProperty("STOCHASTIC_SELECTION"));
-                boolean tournament = Boolean.parseBoolean(props.getProperty("TOURNAMENT_SELECTION"));
-                boolean truncation = Boolean.parseBoolean(props.getProperty("TRUNCATION_SELECTION"));
-                boolean elitism = Boolean.parseBoolean(props.getProperty("ELITISM_SELECTION"));
-
-                // hardcoded
-                if ((fitnessProportionate && !stochastic && !tournament && !truncation) ||
-                        (!fitnessProportionate && stochastic && !tournament && !truncation) ||
-                        (!fitnessProportionate && !stochastic && tournament && !truncation) ||
-                        (!fitnessProportionate && !stochastic && !tournament && truncation)) {
-
-                    this.fitnessProportionate = fitnessProportionate;
-                    this.stochastic = stochastic;
-                    this.tournament = tournament;
-                    this.truncation = truncation;
-                } else {
-                    throw new Exception();
-                }
-
-                if (elitism) {
-                    int top = Integer.parseInt(props.getProperty("TOP"));
-
-                    if (top >= 1 && top <= (populationSize / 2)) {
-                        this.top = top;
-                    } else {
-                        throw new Exception();
-                    }
-                }
-            } catch (Exception n) {
-                this.populationSize = 100;
-                this.fitnessProportionate = true;
-                this.stochastic = false;
-                this.tournament = false;
-                this.truncation = false;
-                this.elitism = true;
-                this.top = 5;
-                System.err.println("Multiple Selections -> Switched to default values");
-            }
-
-            // setting up the first population
-            this.currGen = populateFistGen();
-            this.numGen = 1;
-            this.bestFit = null;
-
-            // setting file dumper
-            this.fileName = String.valueOf(System.currentTimeMillis());
-        } catch (IOException ex) {
-            ex.printStackTrace();
-        }
+    // this algorithm session file
+    private String fileName;
+    private GenerationLogWriter logWriter;
+    private int logQueueCapacity = 4; // between 1-100
+    private int logFlushEvery = 1; // between 1-1000
+    private int checkpointEvery = 1; // between 0-1000, 0 -> no checkpoints
+
+    // time spent handing generations to the log writer and waiting for it
+    private long storeNanos = 0;
+
+    private GeneticAlgorithm(GaConfig config) {
+        this.config = config;
+
+        this.world = config.getWorld();
+        this.lvl = config.getStage();
+        this.level = config.getLevel();
+        this.render = config.isRender();
+
+        this.buttonFrequencies = config.getButtonFrequencies();
+        this.scoreWeight = config.getScoreWeight();
+        this.coinWeight = config.getCoinWeight();
+        this.speedrunWeight = config.getSpeedrunWeight();
+
+        this.populationSize = config.getPopulationSize();
+        this.crossoverType = config.getCrossoverType();
+        this.crossoverOnePointRate = config.getCrossoverOnePointRate();
+        this.crossoverMultiPointMin = config.getCrossoverMultiPointMin();
+        this.crossoverMultiPointMax = config.getCrossoverMultiPointMax();
+        this.crossoverMultiPointCount = config.getCrossoverMultiPointCount();
+        this.crossoverUniformRate = config.getCrossoverUniformRate();
+        this.crossoverFrequency = config.getCrossoverFrequency();
+        this.mutationFrequency = config.getMutationFrequency();
+        this.crossoverOperator = createCrossover();
+
+        this.fitnessProportionate = config.isFitnessProportionate();
+        this.stochastic = config.isStochastic();
+        this.tournament = config.isTournament();
+        this.truncation = config.isTruncation();
+        this.tournamentSize = config.getTournamentSize();
+        this.truncationRate = config.getTruncationRate();
+        this.elitism = config.isElitism();
+        this.top = config.getTop();
+        this.selection = createSelection();
+
+        this.randomService = new RandomService(config.getSeed());
+        this.logQueueCapacity = config.getLogQueueCapacity();
+        this.logFlushEvery = config.getLogFlushEvery();
+        this.checkpointEvery = config.getCheckpointEvery();
+
+        // setting up the first population
+        this.currGen = populateFistGen();
+        this.numGen = 1;
+        this.bestFit = null;
+
+        // setting file dumper
+        this.fileName = String.valueOf(System.currentTimeMillis());
     }
 
     /**
@@ -292,19 +151,44 @@ public final class GeneticAlgorithm {
      * @return the instance of GeneticAlgorithm class
      */
     public static GeneticAlgorithm getGeneticAlgorithm() {
+        return getGeneticAlgorithm(GaConfig.getDefault());
+    }
+
+    /**
+     * Method which returns an instance of GeneticAlgorithm class, attending to the Singleton Design Pattern. The
+     * configuration is only used if the instance doesn't exist yet.
+     *
+     * @param config the configuration of the genetic algorithm.
+     * @return the instance of GeneticAlgorithm class
+     */
+    public static GeneticAlgorithm getGeneticAlgorithm(GaConfig config) {
         GeneticAlgorithm result = instance;
 
         if (result == null) {
             synchronized (GeneticAlgorithm.class) {
                 result = instance;
                 if (result == null) {
-                    instance = new GeneticAlgorithm();
+                    instance = new GeneticAlgorithm(config);
                 }
             }
         }
         return instance;
     }
 
+    /**
+     * Method which returns a new instance of GeneticAlgorithm class, apart from the Singleton instance, to run one of
+     * many populations of a session.
+     *
+     * @param config   the configuration of the population.
+     * @param fileName the name of the session files of the population.
+     * @return a new instance of GeneticAlgorithm class
+     */
+    public static GeneticAlgorithm newPopulation(GaConfig config, String fileName) {
+        GeneticAlgorithm population = new GeneticAlgorithm(config);
+        population.fileName = fileName;
+        return population;
+    }
+
     /**
      * A getter method that returns the current generation
      *
@@ -320,7 +204,7 @@ public final class GeneticAlgorithm {
      * @return the first generation
      */
     private Generation populateFistGen() {
-        Generation firstGen = new Generation(this.populationSize);
+        Generation firstGen = new Generation(this.config);
         ArrayList<Chromosome> listChromos = new ArrayList<>(populationSize);
 
         // create an array representing button frequencies
@@ -334,21 +218,23 @@ public final class GeneticAlgorithm {
             }
         }
 
+        // the first population is bred in generation 0
+        this.random = this.randomService.stream(0, BREED_PHASE);
+
         for (int chromoNum = 0; chromoNum < this.populationSize; chromoNum++) {
             Chromosome newChromossome = new Chromosome();
-            ArrayList<Integer> inputs = new ArrayList<>();
+            Genome.Builder inputs = new Genome.Builder();
 
             if(chromoNum != 0) {
                 // randomize 100-200 inputs
-                for (int j = 0; j < (new Random().nextInt(100)) + 101; j++) {
+                int count = this.random.nextInt(100) + 101;
+                for (int j = 0; j < count; j++) {
 
                     // randomize inputs
-                    int button = this.space[buttons[new Random().nextInt(buttons.length)]];
+                    int button = this.space[buttons[this.random.nextInt(buttons.length)]];
 
                     // making for button pressure
-                    for (int k = 0; k < (new Random().nextInt(5)) + 6; k++) {
-                        inputs.add(button);
-                    }
+                    inputs.addRun(button, this.random.nextInt(5) + 6);
                 }
             }else{
                 int[] inp = new int[]{1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 1, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 3, 3, 3, 3, 3, 10, 10, 10, 10, 10, 10, 10, 10, 10, 2, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 2, 10, 10, 10, 10, 10, 10, 10, 10, 4, 4, 4, 4, 4, 4, 2, 2, 2, 2, 2, 2, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 4, 4, 4, 4, 4, 4, 4, 4, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 9, 9, 9, 9, 9, 9, 2, 2, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 10, 10, 10, 10, 10, 10, 10, 4, 4, 4, 4, 4, 4, 10, 10, 10, 10, 10, 10, 10, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 10, 10, 10, 10, 10, 10, 3, 3, 3, 3, 3, 3, 3, 3, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 10, 10, 10, 10, 10, 10, 10, 1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 3, 3, 3, 3, 3, 1, 1, 1, 1, 1, 1, 4, 4, 4, 4, 4, 4, 4, 4, 3, 3, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 10, 10, 10, 10, 10, 10, 10, 3, 3, 3, 3, 3, 3, 3, 3, 3, 10, 10, 10, 10, 10, 10, 10, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 10, 10, 10, 10, 10, 10, 10, 3, 3, 3, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 4, 4, 4, 4, 4, 4, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 10, 10, 10, 10, 10, 10, 10, 10, 10, 8, 8, 8, 8, 8, 8, 8, 2, 2, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 1, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 10, 10, 10, 10, 10, 10, 10, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 2, 9, 9, 9, 9, 9, 9, 9, 10, 10, 10, 10, 10, 10, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 4, 4, 4, 4, 4, 4, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3, 8, 8, 8, 8, 8, 8, 8, 8, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 4, 4, 4, 4, 4, 4, 4, 4, 3, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 3, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 3, 3, 3, 3, 3, 10, 10, 10, 10, 10, 10, 10, 4, 4, 4, 4, 4, 4, 4, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 10, 10, 10, 10, 10, 10, 10, 10, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 10, 10, 10, 10, 10, 10, 10, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4, 4, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 3, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 3, 3, 3, 3, 3, 3, 3, 10, 10, 10, 10, 10, 10, 10, 10, 10, 3, 3, 3, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 10, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 3, 3, 3, 3, 3, 3, 3, 3, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 10, 10, 10, 10, 10, 10, 10, 10, 9, 9, 9, 9, 9, 9, 9, 10, 10, 10, 10, 10, 10, 10, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2, 2, 10, 10, 10, 10, 10, 10, 1, 1};
@@ -357,7 +243,7 @@ public final class GeneticAlgorithm {
                 }
             }
 
-            newChromossome.setInputs(inputs);
+            newChromossome.setInputs(inputs.build());
             listChromos.add(newChromossome);
         }
 
@@ -366,137 +252,82 @@ public final class GeneticAlgorithm {
     }
 
     /**
-     * A private method that creates and dumps a Generation to a file with the <i>Generation</i> basic information
-     * and complete info to the <i>logs</i> directory and another file to the <i>imports</i> directory also with basic
-     * information and information of the <i>Generation</i> last iteration.
+     * A private method that dumps a Generation to a file with the <i>Generation</i> basic information and complete
+     * info to the <i>logs</i> directory and another file to the <i>imports</i> directory also with basic
+     * information and information of the <i>Generation</i> last iteration. The files are written by the session
+     * log writer, this method only waits if the writer is too many generations behind.
      *
      * @param x        the generation to be stored.
      * @param fileName the file name in which to store the generation.
      */
     private void dumpGenToFile(Generation x, String fileName) throws IOException {
-        if (worldStageValidate()) {
-            String userDirLogs = System.getProperty("user.dir") + "\\logs\\";
-            String userDirImps = System.getProperty("user.dir") + "\\imports\\";
+        long start = System.nanoTime();
+        FlightRecording.PersistenceFlush event = new FlightRecording.PersistenceFlush();
+        event.begin();
 
-            File fileLog, fileImp, logDir, impDir;
+        if (worldStageValidate()) {
+            if (this.logWriter == null) {
+                this.logWriter = new GenerationLogWriter(sessionFile("logs", fileName, ".txt"),
+                        sessionFile("imports", fileName, ".txt"),
+                        "Seed - " + this.randomService.getSeed() + System.lineSeparator() + System.lineSeparator(),
+                        this.logQueueCapacity, this.logFlushEvery);
+
+                if (this.checkpointEvery > 0) {
+                    this.logWriter.enableCheckpoints(sessionFile("checkpoints", fileName, ".ckpt"),
+                            this.randomService.getSeed(), this.checkpointEvery);
+                }
+            }
 
-            pI = new PropertiesInfo();
-            int worldInt = pI.getWorld();
-            int stageInt = pI.getStage();
+            this.logWriter.submit(new GenerationSnapshot(x, this.numGen, this.level, this.world, this.lvl));
+            this.storeNanos += System.nanoTime() - start;
+            SessionMetrics.getDefault().getDumpGenToFile().recordSince(start);
 
-            String ws = "\\World_" + worldInt + "_Stage_" + stageInt + "\\";
-            logDir = new File(userDirLogs + ws);
-            impDir = new File(userDirImps + ws);
+            event.generation = this.numGen;
+            event.generations = this.logWriter.getQueued();
+            event.commit();
+        } else {
+            throw new IOException("Error! File may not exist or incorrect data may have been entered please check.");
+        }
+    }
 
-            // verifies if the directory exists and if not, creates it
-            if (!logDir.exists()) {
-                logDir.mkdirs();
-            }
-            if (!impDir.exists()) {
-                impDir.mkdirs();
-            }
+    /**
+     * Finds a file of the <i>logs</i>, <i>imports</i> or <i>checkpoints</i> directory, in the folder of the world
+     * and stage of the <i>properties</i> file.
+     *
+     * @param directory the directory, <i>logs</i>, <i>imports</i> or <i>checkpoints</i>.
+     * @param fileName  the file name, with or without the extension.
+     * @param extension the extension of the files of the directory.
+     * @return the path of the file.
+     */
+    private Path sessionFile(String directory, String fileName, String extension) {
+        String ws = "World_" + this.config.getWorld() + "_Stage_" + this.config.getStage();
 
-            // verifies the filename format to ensure that is created a .txt
-            if (fileName.endsWith(".txt")) {
-                fileLog = new File(logDir + "\\" + fileName);
-                fileImp = new File(impDir + "\\" + fileName);
-            } else {
-                fileLog = new File(logDir + "\\" + fileName + ".txt");
-                fileImp = new File(impDir + "\\" + fileName + ".txt");
-            }
+        // verifies the filename format to ensure that has the extension
+        String name = fileName.endsWith(extension) ? fileName : fileName + extension;
 
-            // verifies if the files exist or if it wasn't able to create them
-            if (!(fileLog.exists())) {
-                if (!(fileLog.createNewFile())) {
-                    throw new IOException("It wasn't possible create a Log file.");
-                }
-            }
-            if (!(fileImp.exists())) {
-                if (!(fileImp.createNewFile())) {
-                    throw new IOException("It wasn't possible create an Import file.");
-                }
-            }
+        return Paths.get(System.getProperty("user.dir"), directory, ws, name);
+    }
 
-            FileWriter fw = new FileWriter(fileLog, true);
-            BufferedWriter bw = new BufferedWriter(fw);
-
-            FileWriter wI = new FileWriter(fileImp, true);
-            BufferedWriter bI = new BufferedWriter(wI);
-
-            // write the generation number and world (basic information)
-            bw.write("Generation - " + this.numGen);
-            bw.newLine();
-            bw.write("World - " + this.level);
-            bw.newLine();
-            bw.newLine();
-
-            bI.write("Generation - " + this.numGen);
-            bI.newLine();
-            bI.write("World - " + this.level);
-            bI.newLine();
-            bI.newLine();
-
-            ArrayList<Chromosome> generation = x.getGeneration();
-
-            int i = 1;
-            for (Chromosome tmp : generation) {
-                bw.write("CHROMOSOME: " + i);
-                bw.newLine();
-                bw.write("SOLUTION: " + tmp.getInputs().toString());
-                bw.newLine();
-                bw.write("COINS: " + tmp.getResults().getCoins());
-                bw.newLine();
-                bw.write("TIME_LEFT: " + tmp.getResults().getTime_left());
-                bw.newLine();
-                bw.write("X_POS: " + tmp.getResults().getX_pos());
-                bw.newLine();
-                bw.write("SPEED: " + ((double) (tmp.getResults().getX_pos())) / (((double) (levelTimeMapping[this.world - 1][this.lvl - 1])) -
-                        ((double) (tmp.getResults().getTime_left()))));
-                bw.newLine();
-                bw.write("SCORE: " + tmp.getResults().getScore());
-                bw.newLine();
-                bw.write("FLAG: " + tmp.getResults().getFlag_get());
-                bw.newLine();
-                bw.write("REASON_FINISH: " + tmp.getResults().getReason_finish());
-                bw.newLine();
-                bw.write("STATUS: " + tmp.getResults().getStatus());
-                bw.newLine();
-                bw.write("COMMANDS_USED: " + tmp.getResults().getCommands_used());
-                bw.newLine();
-                bw.write("FITNESS VALUE: " + tmp.getFitnessValue());
-                bw.newLine();
-                bw.newLine();
-
-                // Writes the import file in the import directory
-                bI.write("CHROMOSOME: " + i);
-                bI.newLine();
-                bI.write("SOLUTION: " + tmp.getInputs().toString());
-                bI.newLine();
-                bI.write("FITNESS VALUE: " + tmp.getFitnessValue());
-                bI.newLine();
-                bI.newLine();
-
-                i++;
-            }
+    /**
+     * This method stores the generations still waiting to be written and closes the session files.
+     */
+    public void close() {
+        close(null);
+    }
 
-            // write the average time, coins, score and fitness score for the generation (basic information)
-            bw.write("Average Generation Time: " + this.currGen.calculateGenAverageTime());
-            bw.newLine();
-            bw.write("Average Generation Speed: " + this.currGen.calculateGenAverageSpeed(this.world, this.lvl));
-            bw.newLine();
-            bw.write("Average Generation Pos: " + this.currGen.calculateGenAveragePos());
-            bw.newLine();
-            bw.write("Average Generation Coins: " + this.currGen.calculateGenAverageCoins());
-            bw.newLine();
-            bw.write("Average Generation Score: " + this.currGen.calculateGenAverageScore());
-            bw.newLine();
-            bw.write("Average Generation Fitness Score: " + this.currGen.calculateGenAverageFitnessScore());
-            bw.newLine();
-
-            bI.close();
-            bw.close();
-        } else {
-            throw new IOException("Error! File may not exist or incorrect data may have been entered please check.");
+    /**
+     * This method stores the generations still waiting to be written, then why the session stopped at the end of the
+     * log file, and closes the session files.
+     *
+     * @param reason why the session stopped, or null.
+     */
+    public void close(String reason) {
+        if (this.logWriter != null) {
+            long start = System.nanoTime();
+            this.logWriter.close(reason == null ? null : System.lineSeparator() + "Stopped - " + reason
+                    + System.lineSeparator());
+            this.logWriter = null;
+            this.storeNanos += System.nanoTime() - start;
         }
     }
 
@@ -508,10 +339,8 @@ public final class GeneticAlgorithm {
     public boolean worldStageValidate() {
         boolean valid = false;
 
-        pI = new PropertiesInfo();
-
-        int worldInt = pI.getWorld();
-        int stageInt = pI.getStage();
+        int worldInt = this.config.getWorld();
+        int stageInt = this.config.getStage();
 
         if ((worldInt >= 1 && worldInt <= 8) && (stageInt >= 1 && stageInt <= 4)) {
             valid = true;
@@ -551,13 +380,57 @@ public final class GeneticAlgorithm {
      * A method which calculates a generation fitness value based on class variables
      */
     public void calculateFitness() {
+        long start = System.nanoTime();
         Generation generation = this.currGen;
 
-        double coins = generation.calculateGenAverageCoins();
-        double speedrun = generation.calculateGenAverageSpeed(this.world, this.lvl);
-        double score = generation.calculateGenAverageScore();
-        double x_pos = generation.calculateGenAveragePos();
+        GenerationStats stats = generation.getStats();
+
+        double coins = stats.getCoins().getMean();
+        double speedrun = stats.getSpeed().getMean();
+        double score = stats.getScore().getMean();
+        double x_pos = stats.getPos().getMean();
+
+        ArrayList<Chromosome> chromosomes = generation.getGeneration();
+        this.random = this.randomService.stream(this.numGen, FITNESS_PHASE);
+
+        for (Chromosome tmp : chromosomes) {
+            RunResult results = tmp.getResults();
+            double fitnessValue = fitnessValue(results, coins, speedrun, score, x_pos);
+
+            adjustInputs(tmp, results);
+
+            if (this.bestFit == null) {
+                this.bestFit = tmp;
+            } else {
+                if (this.bestFit.getFitnessValue() < fitnessValue) {
+                    this.bestFit = tmp;
+                }
+            }
 
+            if (Double.isNaN(fitnessValue)) {
+                tmp.setFitnessValue(0);
+            } else {
+                tmp.setFitnessValue(fitnessValue);
+            }
+        }
+
+        // the fitness values changed
+        generation.invalidateStats();
+        SessionMetrics.getDefault().getCalculateFitness().recordSince(start);
+    }
+
+    /**
+     * This method calculates the fitness value of a run, weighting each result by how it compares with the average
+     * of the population.
+     *
+     * @param results  the results of the run.
+     * @param coins    the average coins of the population.
+     * @param speedrun the average speed of the population.
+     * @param score    the average score of the population.
+     * @param x_pos    the average x_pos of the population.
+     * @return the fitness value, it may be NaN.
+     */
+    double fitnessValue(RunResult results, double coins, double speedrun, double score, double x_pos) {
         // 60% x_pos && 40% rest
         double posWeight = (this.coinWeight + this.speedrunWeight + this.scoreWeight) * 1.5;
 
@@ -574,58 +447,51 @@ public final class GeneticAlgorithm {
         double scoreFactor = total / score;
         double x_posFactor = total / x_pos;
 
-        ArrayList<Chromosome> chromosomes = generation.getGeneration();
-
-        for (Chromosome tmp : chromosomes) {
-            RunResult results = tmp.getResults();
-            double chromoCoins = results.getCoins();
-            double chromoSpeedrun = ((double) (results.getX_pos())) / (((double) (levelTimeMapping[this.world - 1][this.lvl - 1])) -
-                    ((double) (results.getTime_left())));
-            double chromoScore = results.getScore();
-            double chromoPos = results.getX_pos();
+        double chromoCoins = results.getCoins();
+        double chromoSpeedrun = speedOf(results);
+        double chromoScore = results.getScore();
+        double chromoPos = results.getX_pos();
 
-            int gotFlag = Boolean.parseBoolean(results.getFlag_get()) ? 1 : 0;
+        int gotFlag = Boolean.parseBoolean(results.getFlag_get()) ? 1 : 0;
 
-            // getFlag 2x time multiplier
-            double fitnessValue = ((chromoCoins * coinFactor * this.coinWeight) +
-                    (chromoScore * scoreFactor * this.scoreWeight) +
-                    (chromoSpeedrun * speedrunFactor * this.speedrunWeight) +
-                    (chromoPos * x_posFactor * posWeight));
+        // getFlag 2x time multiplier
+        double fitnessValue = ((chromoCoins * coinFactor * this.coinWeight) +
+                (chromoScore * scoreFactor * this.scoreWeight) +
+                (chromoSpeedrun * speedrunFactor * this.speedrunWeight) +
+                (chromoPos * x_posFactor * posWeight));
 
-            fitnessValue += fitnessValue * (gotFlag * 2);
-
-            if (results.getReason_finish().equals("win")){
-               List<Integer> newList = tmp.getInputs().subList(0, results.getCommands_used());
-               tmp.setInputs(new ArrayList<>(newList));
-            }
-
-            if (results.getReason_finish().equals("no_more_commands")){
-                addMoreCommands(tmp);
-            }
+        return fitnessValue + fitnessValue * (gotFlag * 2);
+    }
 
-            if (results.getReason_finish().equals("death")) {
-                List<Integer> newList = tmp.getInputs().subList(0, results.getCommands_used());
-                tmp.setInputs(new ArrayList<>(newList));
-            }
+    /**
+     * This method calculates the speed of a run, the x_pos reached per unit of time used.
+     *
+     * @param results the results of the run.
+     * @return the speed.
+     */
+    double speedOf(RunResult results) {
+        return ((double) (results.getX_pos())) / (((double) (levelTimeMapping[this.world - 1][this.lvl - 1])) -
+                ((double) (results.getTime_left())));
+    }
 
-            if (results.getReason_finish().equals("win")) {
-                ArrayList<Integer> newList = (ArrayList<Integer>) tmp.getInputs().subList(0, results.getCommands_used());
-                tmp.setInputs(newList);
-            }
+    /**
+     * This method adjusts the inputs of a chromosome to how its run ended: the inputs after a win or a death are
+     * dropped, and more inputs are added if all of them were used.
+     *
+     * @param tmp     the chromosome.
+     * @param results the results of its run.
+     */
+    void adjustInputs(Chromosome tmp, RunResult results) {
+        if ("win".equals(results.getReason_finish())) {
+            tmp.setInputs(tmp.getInputs().prefix(results.getCommands_used()));
+        }
 
-            if (this.bestFit == null) {
-                this.bestFit = tmp;
-            } else {
-                if (this.bestFit.getFitnessValue() < fitnessValue) {
-                    this.bestFit = tmp;
-                }
-            }
+        if ("no_more_commands".equals(results.getReason_finish())) {
+            addMoreCommands(tmp);
+        }
 
-            if (Double.isNaN(fitnessValue)) {
-                tmp.setFitnessValue(0);
-            } else {
-                tmp.setFitnessValue(fitnessValue);
-            }
+        if ("death".equals(results.getReason_finish())) {
+            tmp.setInputs(tmp.getInputs().prefix(results.getCommands_used()));
         }
     }
 
@@ -633,142 +499,203 @@ public final class GeneticAlgorithm {
      * A functions that breeds a new Generation
      */
     public void breedNewGen() {
+        long start = System.nanoTime();
+        FlightRecording.BreedPhase event = new FlightRecording.BreedPhase();
+        event.begin();
+        event.generation = this.numGen;
+        event.populationSize = this.populationSize;
+        event.elite = this.elitism ? Math.min(this.top, this.currGen.getGeneration().size()) : 0;
+
         try {
             dumpGenToFile(this.currGen, this.fileName);
         } catch (IOException i) {
             System.err.println("Something went wrong storing the current generation to a file.");
         }
 
-        Generation newGen = new Generation(this.populationSize);
+        breed();
+        SessionMetrics.getDefault().getBreedNewGen().recordSince(start);
+        event.commit();
+    }
+
+    /**
+     * This method breeds the next generation from the fitness values of the current one
+     */
+    private void breed() {
+        Generation newGen = new Generation(this.config);
         ArrayList<Chromosome> generation = new ArrayList<>(this.populationSize);
 
-        if (this.fitnessProportionate) {
-            if (this.elitism) {
-                try {
-                    @SuppressWarnings("unchecked")
-                    ArrayList<Chromosome> gen = (ArrayList<Chromosome>) this.currGen.getGeneration().clone();
+        if (this.elitism) {
+            generation.addAll(elite(this.currGen));
+        }
 
-                    Collections.sort(gen);
-                    Collections.reverse(gen);
+        ArrayList<Chromosome> parents = this.currGen.getGeneration();
+        SplittableRandom random = this.randomService.stream(this.numGen, BREED_PHASE);
+        this.random = random;
 
-                    for (int i = 0; i < this.top; i++) {
-                        Chromosome newChromo = gen.get(i);
-                        generation.add(newChromo);
-                    }
-                } catch (ClassCastException c) {
-                    System.exit(0);
-                    System.err.println("Something went wrong on the elitism method.");
-                }
-            }
+        // two parents for each pair of children
+        int picks = 2 * ((this.populationSize - generation.size() + 1) / 2);
+        this.selection.prepare(parents, picks, random);
 
-            ArrayList<Pair<Double, Chromosome>> matingPool = fitnessProportionateSelection();
+        FlightRecording.CrossoverBatch batch = new FlightRecording.CrossoverBatch();
+        batch.begin();
 
-            int chromoNum = 0;
-            for (int left = this.populationSize - generation.size(); left > 0; ) {
-                int pos = new Random().nextInt(this.populationSize);
-                Chromosome parent1 = this.currGen.getGeneration().get(pos);
+        int clonedChildren = 0;
+        for (int left = this.populationSize - generation.size(); left > 0; ) {
+            Chromosome parent1 = this.selection.select(random);
 
-                // choose second parent
-                Chromosome parent2 = null;
+            // choose second parent, if the generation converged to clones of the first one accept a clone
+            Chromosome parent2 = this.selection.select(random);
 
-                while (parent2 == null) {
-                    double rand = Math.random();
+            for (int attempt = 1; attempt < MAX_PARENT_ATTEMPTS && parent2.isClone(parent1); attempt++) {
+                parent2 = this.selection.select(random);
+            }
 
-                    for (Pair<Double, Chromosome> pair : matingPool) {
-                        if (pair.getKey() >= rand) {
-                            if (!pair.getValue().isClone(parent1)) {
-                                parent2 = pair.getValue();
-                            }
-                            break;
-                        }
-                    }
-                }
+            Chromosome[] children = crossover(parent1.clone(), parent2.clone(), random);
+            batch.crossovers++;
 
-                if (left == 1) {
-                    Chromosome[] children = crossover(parent1.clone(), parent2.clone());
+            if (children[0].isClone(parent1) && children[1].isClone(parent2)
+                    && ++clonedChildren < MAX_PARENT_ATTEMPTS) {
+                batch.discarded++;
+                continue;
+            }
 
-                    if (children[0].isClone(parent1) && children[1].isClone(parent2)) {
-                        continue;
-                    }
+            // add first child to new generation
+            generation.add(mutate(children[0]));
 
-                    Chromosome child1 = mutate(children[0]);
+            if (left > 1) {
+                // add second child to new generation
+                generation.add(mutate(children[1]));
+            }
 
-                    // add first child to new generation
-                    generation.add(child1);
-                } else {
-                    Chromosome[] children = crossover(parent1.clone(), parent2.clone());
+            left = this.populationSize - generation.size();
+            clonedChildren = 0;
+        }
 
-                    if (children[0].isClone(parent1) && children[1].isClone(parent2)) {
-                        continue;
-                    }
+        batch.generation = this.numGen;
+        batch.crossoverType = this.crossoverType;
+        batch.commit();
 
-                    Chromosome child1 = mutate(children[0]);
-                    Chromosome child2 = mutate(children[1]);
+        // set the currGen
+        newGen.setGeneration(generation);
+        this.currGen = newGen;
+        this.numGen++;
+    }
 
-                    // add both children to new generation
-                    generation.add(child1);
-                    generation.add(child2);
-                }
-                left = this.populationSize - generation.size();
-                chromoNum++;
-            }
+    /**
+     * This method finds the fittest chromosomes of a generation, kept by the elitism in the next generation.
+     *
+     * @param generation the evaluated generation.
+     * @return the <i>TOP</i> fittest chromosomes, best first.
+     */
+    List<Chromosome> elite(Generation generation) {
+        List<Chromosome> elite = new ArrayList<>(this.top);
 
-            // set the currGen
-            newGen.setGeneration(generation);
-            this.currGen = newGen;
-            this.numGen++;
+        try {
+            @SuppressWarnings("unchecked")
+            ArrayList<Chromosome> gen = (ArrayList<Chromosome>) generation.getGeneration().clone();
 
-            return;
-        }
+            Collections.sort(gen);
+            Collections.reverse(gen);
 
-        if (this.stochastic) {
-            // TODO: This selection method.
+            for (int i = 0; i < Math.min(this.top, gen.size()); i++) {
+                elite.add(gen.get(i));
+            }
+        } catch (ClassCastException c) {
+            System.exit(0);
+            System.err.println("Something went wrong on the elitism method.");
         }
+        return elite;
+    }
 
-        if (this.tournament) {
-            // TODO: This selection method.
+    /**
+     * This method breeds two children from parents selected in a population, as the steady-state engine does for
+     * each evaluation completed.
+     *
+     * @param parents the evaluated chromosomes, with their fitness values.
+     * @return an array with two elements, the mutated children.
+     */
+    Chromosome[] breedPair(List<Chromosome> parents) {
+        this.selection.prepare(parents, 2, this.random);
+
+        Chromosome parent1 = this.selection.select(this.random);
+        Chromosome parent2 = this.selection.select(this.random);
+
+        for (int attempt = 1; attempt < MAX_PARENT_ATTEMPTS && parent2.isClone(parent1); attempt++) {
+            parent2 = this.selection.select(this.random);
         }
 
-        if (this.truncation) {
-            // TODO: This selection method.
+        Chromosome[] children = crossover(parent1.clone(), parent2.clone(), this.random);
+        children[0] = mutate(children[0]);
+        children[1] = mutate(children[1]);
+        return children;
+    }
+
+    /**
+     * A getter method that returns the random number generator of the current phase
+     *
+     * @return the random number generator
+     */
+    SplittableRandom getRandom() {
+        return this.random;
+    }
+
+    /**
+     * This method stores a population as the current generation, as the steady-state engine does each time a whole
+     * population was evaluated, and moves on to the next generation number.
+     *
+     * @param generation the evaluated population.
+     */
+    void storeGeneration(Generation generation) {
+        this.currGen = generation;
+
+        try {
+            dumpGenToFile(generation, this.fileName);
+        } catch (IOException i) {
+            System.err.println("Something went wrong storing the current generation to a file.");
         }
+
+        this.numGen++;
+        this.random = this.randomService.stream(this.numGen, BREED_PHASE);
     }
 
     /**
-     * This method imports the data from a file located in the <i>imports</i> directory to continue it's processing.
+     * This method imports the last generation of a file located in the <i>imports</i> directory to continue it's
+     * processing.
      *
      * @param fileName name of the file to be imported.
      * @throws IOException throws an exception if the file does not exist.
      */
     public void readGenFromFile(String fileName) throws IOException {
+        readGenFromFile(fileName, -1);
+    }
+
+    /**
+     * This method imports a generation of a file located in the <i>imports</i> directory to continue it's
+     * processing. Only that generation is read, found through the index of the file.
+     *
+     * @param fileName   name of the file to be imported.
+     * @param generation the number of the generation, or a negative number for the last one.
+     * @throws IOException throws an exception if the file does not exist.
+     */
+    public void readGenFromFile(String fileName, int generation) throws IOException {
         try {
             if (worldStageValidate()) {
-                Generation newGen = new Generation(this.populationSize);
+                Generation newGen = new Generation(this.config);
                 ArrayList<Chromosome> arrChromo = new ArrayList<>();
 
-                pI = new PropertiesInfo();
-                String importFolder = System.getProperty("user.dir") + "\\imports\\";
-
-                File fileImp, file;
-
-                int worldInt = pI.getWorld();
-                int stageInt = pI.getStage();
+                Path file = sessionFile("imports", fileName, ".txt");
 
-                String ws = "\\World_" + worldInt + "_Stage_" + stageInt + "\\";
-
-                fileImp = new File(importFolder + ws);
-
-                if (fileName.endsWith(".txt")) {
-                    file = new File(fileImp + "\\" + fileName);
-                } else {
-                    file = new File(fileImp + "\\" + fileName + ".txt");
+                if (!(Files.exists(file))) {
+                    throw new IOException("File does not exist.\nPlease check the spelling and confirm if the file is present in the (imports) folder.");
                 }
 
-                if (!(file.exists())) {
-                    throw new IOException("File does not exist.\nPlease check the spelling and confirm if the file is present in the (imports) folder.");
+                GenerationIndex.Entry entry = GenerationIndex.find(file, generation);
+
+                if (entry == null) {
+                    throw new IOException("The file doesn't have the generation " + generation + ".");
                 }
 
-                BufferedReader bufRead = Files.newBufferedReader(Paths.get(file.getPath()));
+                BufferedReader bufRead = GenerationIndex.read(file, entry);
 
                 String line;
 
@@ -783,23 +710,8 @@ public final class GeneticAlgorithm {
                     }
 
                     // Gets the last solution of the chromosome from de file
-                    ArrayList<Integer> solut = new ArrayList<>();
                     if (cms_sol[0].equals("SOLUTION")) {
-
-                        // first thing removes "[" and "]"
-                        String values = cms_sol[1].replace("[", "");
-                        values = values.replace("]", "");
-
-                        // trimming and split
-                        values = values.trim();
-
-                        String[] arr = values.split(",");
-
-                        for (String s : arr) {
-                            solut.add(Integer.parseInt(s.trim()));
-                        }
-
-                        newChro.setInputs(solut);
+                        newChro.setInputs(Genome.parse(cms_sol[1].trim()));
                         arrChromo.add(newChro);
                     }
                 }
@@ -812,6 +724,96 @@ public final class GeneticAlgorithm {
         }
     }
 
+    /**
+     * This method resumes a session from a checkpoint located in the <i>checkpoints</i> directory. The stored
+     * generation isn't played again: the next generation is bred from its fitness values, with the seed of the
+     * stored session, so it's the same generation the stored session would have bred.
+     *
+     * @param fileName name of the checkpoint to be resumed.
+     * @return true if the session was resumed.
+     */
+    public boolean resumeFromCheckpoint(String fileName) {
+        try {
+            Checkpoint checkpoint = Checkpoint.read(sessionFile("checkpoints", fileName, ".ckpt"));
+
+            if (!checkpoint.getLevel().equals(this.level)) {
+                System.out.println("The checkpoint is from " + checkpoint.getLevel() + ", not " + this.level
+                        + " -> Starting a new session.");
+                return false;
+            }
+
+            ArrayList<Chromosome> arrChromo = new ArrayList<>(checkpoint.size());
+            for (int i = 0; i < checkpoint.size(); i++) {
+                Chromosome newChro = new Chromosome();
+                newChro.setInputs(checkpoint.getInputs(i));
+                newChro.setFitnessValue(checkpoint.getFitness(i));
+                arrChromo.add(newChro);
+
+                if (this.bestFit == null || this.bestFit.getFitnessValue() < newChro.getFitnessValue()) {
+                    this.bestFit = newChro;
+                }
+            }
+
+            Generation newGen = new Generation(this.config);
+            newGen.setGeneration(arrChromo);
+
+            this.currGen = newGen;
+            this.numGen = checkpoint.getNumGen();
+            this.randomService = new RandomService(checkpoint.getSeed());
+
+            breed();
+            return true;
+        } catch (IOException ie) {
+            System.out.println("Error! " + ie.getMessage() + " -> Starting a new session.");
+            return false;
+        }
+    }
+
+    /**
+     * This method returns copies of the fittest chromosomes of the current generation, to migrate to another
+     * population. It must be called after the fitness values are calculated.
+     *
+     * @param count the number of chromosomes.
+     * @return the fittest chromosomes, from the best one.
+     */
+    public List<Chromosome> getFittest(int count) {
+        @SuppressWarnings("unchecked")
+        ArrayList<Chromosome> gen = (ArrayList<Chromosome>) this.currGen.getGeneration().clone();
+
+        Collections.sort(gen);
+        Collections.reverse(gen);
+
+        List<Chromosome> fittest = new ArrayList<>(Math.min(count, gen.size()));
+        for (int i = 0; i < Math.min(count, gen.size()); i++) {
+            fittest.add(gen.get(i).clone());
+        }
+        return fittest;
+    }
+
+    /**
+     * This method replaces the least fit chromosomes of the current generation with chromosomes from another
+     * population, so they take part in the selection of the next generation. It must be called after the fitness
+     * values are calculated.
+     *
+     * @param migrants the chromosomes of the other population, with their fitness values.
+     */
+    public void acceptMigrants(List<Chromosome> migrants) {
+        ArrayList<Chromosome> generation = this.currGen.getGeneration();
+
+        // least fit first
+        Collections.sort(generation);
+
+        for (int i = 0; i < Math.min(migrants.size(), generation.size()); i++) {
+            Chromosome migrant = migrants.get(i).clone();
+            generation.set(i, migrant);
+
+            if (this.bestFit == null || this.bestFit.getFitnessValue() < migrant.getFitnessValue()) {
+                this.bestFit = migrant;
+            }
+        }
+        this.currGen.invalidateStats();
+    }
+
     /**
      * A method which prints the selected weights
      *
@@ -831,40 +833,63 @@ public final class GeneticAlgorithm {
         return this.populationSize;
     }
 
+    /**
+     * A getter method that returns the time spent storing generations, waiting for the log writer included
+     *
+     * @return the time in nanoseconds
+     */
+    public long getStoreNanos() {
+        return this.storeNanos;
+    }
+
+    /**
+     * A getter method that returns the seed of this session
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return this.randomService.getSeed();
+    }
+
     public Chromosome getBestFit() {
         return bestFit;
     }
 
     /**
-     * This method does the fitness proportionate selection on the current selection
+     * This method creates the selection chosen in the properties file
      *
-     * @return the mating pool
+     * @return the selection used to choose the parents
      */
-    private ArrayList<Pair<Double, Chromosome>> fitnessProportionateSelection() {
-        // get current generation
-        ArrayList<Chromosome> gen = this.currGen.getGeneration();
-
-        // define the mating pool size and total fitness
-        double totalFitness = 0.0;
-        ArrayList<Pair<Double, Chromosome>> roulette = new ArrayList<>();
-
-        // get the total fitness
-        for (Chromosome tmp : gen) {
-            double fitnessValue = tmp.getFitnessValue();
-            totalFitness += fitnessValue;
+    private Selection createSelection() {
+        if (this.stochastic) {
+            return new StochasticSelection();
         }
-
-        // create roulette
-        double currValue = 0.0;
-        for (Chromosome chromo : gen) {
-            double n = (chromo.getFitnessValue() / totalFitness);
-
-            currValue += n;
-            Pair<Double, Chromosome> tmp = new Pair<>(currValue, chromo.clone());
-            roulette.add(tmp);
+        if (this.tournament) {
+            return new TournamentSelection(this.tournamentSize);
+        }
+        if (this.truncation) {
+            return new TruncationSelection(this.truncationRate);
         }
+        return new FitnessProportionateSelection();
+    }
 
-        return roulette;
+    /**
+     * This method creates the crossover operator of the crossover type
+     *
+     * @return the crossover operator
+     */
+    private CrossoverOperator createCrossover() {
+        switch (this.crossoverType) {
+            case "MULTI_POINT":
+                return new MultiPointCrossover(this.crossoverMultiPointMin, this.crossoverMultiPointMax,
+                        this.crossoverMultiPointCount);
+            case "UNIFORM":
+                return new UniformCrossover(this.crossoverUniformRate);
+            case "SEGMENT":
+                return new SegmentCrossover();
+            default:
+                return new OnePointCrossover(this.crossoverOnePointRate);
+        }
     }
 
     /**
@@ -872,116 +897,29 @@ public final class GeneticAlgorithm {
      *
      * @param parent1 one of the parent chromosomes
      * @param parent2 the other parent chromosome
+     * @param random  the random number generator
      * @return an array with two elements, the children of the parent chromosomes
      */
-    private Chromosome[] crossover(Chromosome parent1, Chromosome parent2) {
-        try {
-            Chromosome[] children = new Chromosome[2];
-
-            if (Math.random() < this.crossoverFrequency) {
-
-                ArrayList<Integer> parent1Inputs = parent1.getInputs();
-                ArrayList<Integer> parent2Inputs = parent2.getInputs();
-
-                //separate array by blocks
-                ArrayList<ArrayList<Integer>> blockedArray1 = separateArrayByBlocks(parent1Inputs);
-                ArrayList<ArrayList<Integer>> blockedArray2 = separateArrayByBlocks(parent2Inputs);
-
-                switch (this.crossoverType) {
-                    case "ONE_POINT":
-                        double onePointRate = this.crossoverOnePointRate;
-
-                        // define crossover position
-                        int pos1 = (int) Math.round(blockedArray1.size() * onePointRate);
-                        int pos2 = (int) Math.round(blockedArray2.size() * onePointRate);
-
-                        pos1 = pos1 == 0 ? 1 : pos1;
-                        pos2 = pos2 == 0 ? 1 : pos2;
-
-                        // separate lists
-                        ArrayList<ArrayList<Integer>>[] separatedLists1 = separateLists(blockedArray1, pos1);
-                        ArrayList<ArrayList<Integer>>[] separatedLists2 = separateLists(blockedArray2, pos2);
-
-                        assert separatedLists1 != null;
-                        assert separatedLists2 != null;
-                        ArrayList<ArrayList<Integer>> list1 = separatedLists1[1];
-                        ArrayList<ArrayList<Integer>> list2 = separatedLists2[1];
-
-                        // remove values after crossover position
-                        blockedArray1.subList(pos1 - 1, blockedArray1.size()).clear();
-                        blockedArray2.subList(pos2 - 1, blockedArray2.size()).clear();
-
-                        blockedArray1.addAll(list1);
-                        blockedArray2.addAll(list2);
-
-                        children[0] = new Chromosome();
-                        children[1] = new Chromosome();
-
-                        children[0].setInputs(blockedArrayToArrayList(blockedArray1));
-                        children[1].setInputs(blockedArrayToArrayList(blockedArray2));
-
-                        return children;
-                    case "MULTI_POINT":
-                        // TODO:
-                        return null;
-                    case "UNIFORM":
-                        double uniformRate = this.crossoverUniformRate;
-
-                        if (blockedArray1.size() >= blockedArray2.size()) {
-                            for (int i = 0; i < blockedArray2.size(); i++) {
-                                double rand = Math.random();
-
-                                if (rand < uniformRate) {
-                                    if (i >= blockedArray2.size()) {
-                                        blockedArray2.add(blockedArray1.get(i));
-                                    } else {
-                                        // switch them
-                                        ArrayList<Integer> tmp;
-                                        tmp = blockedArray1.get(i);
-                                        blockedArray1.set(i, blockedArray2.get(i));
-                                        blockedArray2.set(i, tmp);
-                                    }
-                                }
-                            }
-                        } else {
-                            for (int i = 0; i < blockedArray2.size(); i++) {
-                                double rand = Math.random();
-
-                                if (rand < uniformRate) {
-                                    if (i >= blockedArray1.size()) {
-                                        blockedArray1.add(blockedArray2.get(i));
-                                    } else {
-                                        // switch them
-                                        ArrayList<Integer> tmp;
-                                        tmp = blockedArray1.get(i);
-                                        blockedArray1.set(i, blockedArray2.get(i));
-                                        blockedArray2.set(i, tmp);
-                                    }
-                                }
-                            }
-                        }
-
-                        children[0] = new Chromosome();
-                        children[1] = new Chromosome();
-
-                        children[0].setInputs(blockedArrayToArrayList(blockedArray1));
-                        children[1].setInputs(blockedArrayToArrayList(blockedArray2));
-
-                        return children;
-                    default:
-                        throw new Exception();
-                }
-            } else {
-                children[0] = parent1;
-                children[1] = parent2;
-                return children;
-            }
-        } catch (Exception E) {
-            System.out.println(E);
-            System.err.println("Something went wrong in the mutate function, turning off JVM");
-            System.exit(0);
-            return null;
+    Chromosome[] crossover(Chromosome parent1, Chromosome parent2, SplittableRandom random) {
+        Chromosome[] children = new Chromosome[2];
+
+        if (random.nextDouble() < this.crossoverFrequency) {
+            this.child1Buffer.clear();
+            this.child2Buffer.clear();
+
+            this.crossoverOperator.cross(parent1.getInputs(), parent2.getInputs(), this.child1Buffer,
+                    this.child2Buffer, random);
+
+            children[0] = new Chromosome();
+            children[1] = new Chromosome();
+
+            children[0].setInputs(this.child1Buffer.build());
+            children[1].setInputs(this.child2Buffer.build());
+        } else {
+            children[0] = parent1;
+            children[1] = parent2;
         }
+        return children;
     }
 
     /**
@@ -990,14 +928,14 @@ public final class GeneticAlgorithm {
      * @param chromo the chromosome to mutate
      * @return the mutated chromosome
      */
-    private Chromosome mutate(Chromosome chromo) {
-        double rand = Math.random();
+    Chromosome mutate(Chromosome chromo) {
+        double rand = this.random.nextDouble();
 
         if (rand < this.mutationFrequency) {
-            ArrayList<ArrayList<Integer>> blocks = separateArrayByBlocks(chromo.getInputs());
+            Genome inputs = chromo.getInputs();
 
-            int blockPos = new Random().nextInt(blocks.size());
-            ArrayList<Integer> newInput = new ArrayList<>();
+            int blockPos = this.random.nextInt(inputs.blockCount());
+            Genome.Builder newInput = new Genome.Builder(inputs.blockCount() + 1).addBlocks(inputs, 0, blockPos);
 
             // create an array representing button frequencies
             int[] buttons = new int[100];
@@ -1011,17 +949,16 @@ public final class GeneticAlgorithm {
             }
 
             // randomize inputs
-            int button = this.space[buttons[new Random().nextInt(buttons.length)]];
+            int button = this.space[buttons[this.random.nextInt(buttons.length)]];
 
             // making for button pressure
-            for (int k = 0; k < (new Random().nextInt(5)) + 6; k++) {
-                newInput.add(button);
-            }
+            newInput.addRun(button, this.random.nextInt(5) + 6);
 
-            blocks.set(blockPos, newInput);
+            // replace the block with the new input
+            newInput.addBlocks(inputs, blockPos + 1, inputs.blockCount());
 
             Chromosome mutatedChromo = new Chromosome();
-            mutatedChromo.setInputs(blockedArrayToArrayList(blocks));
+            mutatedChromo.setInputs(newInput.build());
 
             return mutatedChromo;
         } else {
@@ -1029,69 +966,14 @@ public final class GeneticAlgorithm {
         }
     }
 
-    /**
-     * This method transforms an array of integer into array of integer blocks
-     *
-     * @param arr the Integer array
-     * @return the array of integer blocks
-     */
-    public static ArrayList<ArrayList<Integer>> separateArrayByBlocks(ArrayList<Integer> arr) {
-        ArrayList<ArrayList<Integer>> tmpArr = new ArrayList<>();
-        int value = arr.get(0);
-
-        for (int i = 0; i < arr.size(); ) {
-            ArrayList<Integer> newBlock = new ArrayList<>();
-
-            while (i < arr.size() && value == arr.get(i)) {
-                newBlock.add(value);
-                i++;
-            }
-
-            if (newBlock.size() > 10) {
-                ArrayList<Integer> partialBlock1 = new ArrayList<>(
-                        newBlock.subList(0, (int) Math.floor((double) (newBlock.size()) / 2)));
-
-                ArrayList<Integer> partialBlock2 = new ArrayList<>(
-                        newBlock.subList((int) Math.floor((double) (newBlock.size()) / 2), newBlock.size()));
-
-                tmpArr.add(partialBlock1);
-                tmpArr.add(partialBlock2);
-            } else {
-                tmpArr.add(newBlock);
-            }
-
-            // change new value
-            if (i < arr.size()) {
-                value = arr.get(i);
-            }
-        }
-        return tmpArr;
-    }
-
-
-    /**
-     * This method converts an array of arrays into an arraylist
-     *
-     * @param blockedArray the array of arrays
-     * @return the arraylist
-     */
-    private ArrayList<Integer> blockedArrayToArrayList(ArrayList<ArrayList<Integer>> blockedArray) {
-        ArrayList<Integer> returnArr = new ArrayList<>();
-
-        for (ArrayList<Integer> tmp : blockedArray) {
-            returnArr.addAll(tmp);
-        }
-        return returnArr;
-    }
-
     /**
      * Adds more commands to the chromosome if the commands have all been executed but Mario still hasn't reached
      * the end and there is still time remaining,
      * @param tmp chromosome to add more commands.
      * @return the chromosome with the added commands.
      */
-    private Chromosome addMoreCommands(Chromosome tmp){
-        ArrayList<Integer> commands = tmp.getInputs();
+    Chromosome addMoreCommands(Chromosome tmp){
+        Genome.Builder commands = new Genome.Builder(tmp.getInputs().blockCount() + 200).add(tmp.getInputs());
 
         // create an array representing button frequencies
         int[] buttons = new int[100];
@@ -1105,58 +987,26 @@ public final class GeneticAlgorithm {
         }
 
         // randomize 100-200 inputs
-        for (int j = 0; j < (new Random().nextInt(100)) + 101; j++) {
+        int count = this.random.nextInt(100) + 101;
+        for (int j = 0; j < count; j++) {
 
             // randomize inputs
-            int button = this.space[buttons[new Random().nextInt(buttons.length)]];
+            int button = this.space[buttons[this.random.nextInt(buttons.length)]];
 
             // making for button pressure
-            for (int k = 0; k < (new Random().nextInt(5)) + 6; k++) {
-                commands.add(button);
-            }
+            commands.addRun(button, this.random.nextInt(5) + 6);
         }
 
-        tmp.setInputs(commands);
+        tmp.setInputs(commands.build());
         return tmp;
     }
-
-    /**
-     * Separates a list in two in the position pretended.
-     * @param list list that is to be separated.
-     * @param sPos position of the list to be separated.
-     * @return an arrayList of arrayList.
-     */
-    private ArrayList<ArrayList<Integer>>[] separateLists(ArrayList<ArrayList<Integer>> list, int sPos) {
-
-        if (sPos < list.size()) {
-            ArrayList<ArrayList<Integer>>[] returnArr = new ArrayList[2];
-
-            ArrayList<ArrayList<Integer>> firstList = new ArrayList<>();
-            ArrayList<ArrayList<Integer>> secondList = new ArrayList<>();
-            int it = 0;
-
-            while (it < list.size()) {
-                if (it < sPos) {
-                    firstList.add(list.get(it));
-                } else {
-                    secondList.add(list.get(it));
-                }
-                it++;
-            }
-            returnArr[0] = firstList;
-            returnArr[1] = secondList;
-
-            return returnArr;
-        } else {
-            return null;
-        }
-    }
 }
 
 enum CROSSOVER_TYPES {
     ONE_POINT("ONE_POINT"),
     MULTI_POINT("MULTI_POINT"),
-    UNIFORM("UNIFORM");
+    UNIFORM("UNIFORM"),
+    SEGMENT("SEGMENT");
 
     private String type;
 
@@ -0,0 +1,371 @@
+package classes;
+
+import java.util.Arrays;
+
+/**
+ * Class that represents the inputs of a chromosome as blocks of the same button pressed for some duration. A run
+ * of the same button longer than 10 commands is split in two halves, so a genome always holds the same blocks the
+ * genetic operators work on. A genome is immutable, so it can be shared between chromosomes, generations and
+ * threads without being copied.
+ */
+public final class Genome {
+
+    // runs longer than this are split in two blocks
+    static final int MAX_BLOCK_DURATION = 10;
+
+    public static final Genome EMPTY = new Genome(new byte[0], new int[0], 0);
+
+    private final byte[] buttons;
+    private final int[] durations;
+    private final int length;
+    private int hash;
+
+    /**
+     * Creates a genome that takes ownership of the given arrays.
+     *
+     * @param buttons   the button of each block, not copied.
+     * @param durations the duration of each block, not copied.
+     * @param length    the number of commands.
+     */
+    private Genome(byte[] buttons, int[] durations, int length) {
+        this.buttons = buttons;
+        this.durations = durations;
+        this.length = length;
+    }
+
+    /**
+     * This method creates a genome from the given commands.
+     *
+     * @param commands the commands, between 0 and 11.
+     * @return the genome.
+     */
+    public static Genome of(int... commands) {
+        Builder builder = new Builder(commands.length / 4 + 1);
+
+        for (int command : commands) {
+            builder.add(command);
+        }
+        return builder.build();
+    }
+
+    /**
+     * This method parses a genome written by {@link #toString()}, eg: <i>[1, 1, 2]</i>.
+     *
+     * @param text the written genome.
+     * @return the genome.
+     * @throws NumberFormatException if the text isn't a list of commands.
+     */
+    public static Genome parse(String text) {
+        Builder builder = new Builder(text.length() / 20 + 1);
+        int value = -1;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+            } else if (c == ',' || c == ']') {
+                if (value < 0) {
+                    throw new NumberFormatException("Missing command in " + text);
+                }
+                builder.add(value);
+                value = -1;
+            } else if (c != '[' && c != ' ') {
+                throw new NumberFormatException("Invalid character '" + c + "' in " + text);
+            }
+        }
+
+        if (value >= 0) {
+            builder.add(value);
+        }
+        return builder.build();
+    }
+
+    /**
+     * This method returns the number of commands.
+     *
+     * @return the number of commands.
+     */
+    public int length() {
+        return this.length;
+    }
+
+    /**
+     * This method returns the number of blocks.
+     *
+     * @return the number of blocks.
+     */
+    public int blockCount() {
+        return this.buttons.length;
+    }
+
+    /**
+     * This method returns the button pressed in a block.
+     *
+     * @param block the position of the block.
+     * @return the button.
+     */
+    public int button(int block) {
+        return this.buttons[block];
+    }
+
+    /**
+     * This method returns how many commands a block lasts.
+     *
+     * @param block the position of the block.
+     * @return the duration.
+     */
+    public int duration(int block) {
+        return this.durations[block];
+    }
+
+    /**
+     * This method returns the first commands of this genome.
+     *
+     * @param length the number of commands to keep.
+     * @return the genome with the first <i>length</i> commands.
+     */
+    public Genome prefix(int length) {
+        if (length >= this.length) {
+            return this;
+        }
+        return new Builder(this.buttons.length).add(this, 0, length).build();
+    }
+
+    /**
+     * This method converts the genome to the array sent in a <i>Request</i>.
+     *
+     * @return the commands as an Integer array.
+     */
+    public Integer[] toRequestArray() {
+        Integer[] arr = new Integer[this.length];
+        int pos = 0;
+
+        for (int block = 0; block < this.buttons.length; block++) {
+            Integer button = (int) this.buttons[block];
+            Arrays.fill(arr, pos, pos + this.durations[block], button);
+            pos += this.durations[block];
+        }
+        return arr;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Genome)) {
+            return false;
+        }
+        Genome genome = (Genome) o;
+        return this.length == genome.length && hashCode() == genome.hashCode()
+                && Arrays.equals(this.buttons, genome.buttons) && Arrays.equals(this.durations, genome.durations);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = this.hash;
+
+        if (h == 0 && this.length > 0) {
+            h = 31 * Arrays.hashCode(this.buttons) + Arrays.hashCode(this.durations);
+            this.hash = h;
+        }
+        return h;
+    }
+
+    /**
+     * This method writes the genome in the same format as a list, eg: <i>[1, 1, 2]</i>.
+     *
+     * @return the written genome.
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(this.length * 3 + 2)).toString();
+    }
+
+    /**
+     * This method writes the genome in the same format as a list, eg: <i>[1, 1, 2]</i>, at the end of a text.
+     *
+     * @param text where to write.
+     * @return the text.
+     */
+    public StringBuilder appendTo(StringBuilder text) {
+        text.append('[');
+
+        boolean first = true;
+        for (int block = 0; block < this.buttons.length; block++) {
+            for (int i = 0; i < this.durations[block]; i++) {
+                if (!first) {
+                    text.append(", ");
+                }
+                text.append(this.buttons[block]);
+                first = false;
+            }
+        }
+        return text.append(']');
+    }
+
+    /**
+     * Class used to build genomes. Consecutive commands of the same button are merged into runs, which are split
+     * into blocks when the genome is built. A builder can be cleared and reused to avoid allocating a new buffer
+     * for each genome.
+     */
+    public static final class Builder {
+        private byte[] runButtons;
+        private int[] runDurations;
+        private int runs;
+        private int size;
+
+        public Builder() {
+            this(64);
+        }
+
+        public Builder(int capacity) {
+            this.runButtons = new byte[Math.max(8, capacity)];
+            this.runDurations = new int[Math.max(8, capacity)];
+        }
+
+        /**
+         * This method adds a command.
+         *
+         * @param command the command.
+         * @return this builder.
+         */
+        public Builder add(int command) {
+            return addRun(command, 1);
+        }
+
+        /**
+         * This method adds a command several times.
+         *
+         * @param command the command.
+         * @param times   the number of times.
+         * @return this builder.
+         */
+        public Builder addRun(int command, int times) {
+            if (times <= 0) {
+                return this;
+            }
+
+            if (this.runs > 0 && this.runButtons[this.runs - 1] == command) {
+                this.runDurations[this.runs - 1] += times;
+            } else {
+                if (this.runs == this.runButtons.length) {
+                    this.runButtons = Arrays.copyOf(this.runButtons, this.runs * 2);
+                    this.runDurations = Arrays.copyOf(this.runDurations, this.runs * 2);
+                }
+                this.runButtons[this.runs] = (byte) command;
+                this.runDurations[this.runs] = times;
+                this.runs++;
+            }
+
+            this.size += times;
+            return this;
+        }
+
+        /**
+         * This method adds a range of blocks of a genome.
+         *
+         * @param genome the genome.
+         * @param from   the position of the first block.
+         * @param to     the position after the last block.
+         * @return this builder.
+         */
+        public Builder addBlocks(Genome genome, int from, int to) {
+            for (int block = from; block < to; block++) {
+                addRun(genome.buttons[block], genome.durations[block]);
+            }
+            return this;
+        }
+
+        /**
+         * This method adds a range of commands of a genome.
+         *
+         * @param genome the genome.
+         * @param from   the position of the first command.
+         * @param to     the position after the last command.
+         * @return this builder.
+         */
+        public Builder add(Genome genome, int from, int to) {
+            int start = 0;
+
+            for (int block = 0; block < genome.buttons.length && start < to; block++) {
+                int end = start + genome.durations[block];
+
+                if (end > from) {
+                    addRun(genome.buttons[block], Math.min(end, to) - Math.max(start, from));
+                }
+                start = end;
+            }
+            return this;
+        }
+
+        /**
+         * This method adds every command of a genome.
+         *
+         * @param genome the genome.
+         * @return this builder.
+         */
+        public Builder add(Genome genome) {
+            return addBlocks(genome, 0, genome.blockCount());
+        }
+
+        /**
+         * This method returns the number of commands added.
+         *
+         * @return the number of commands.
+         */
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * This method removes every command, keeping the buffers.
+         *
+         * @return this builder.
+         */
+        public Builder clear() {
+            this.runs = 0;
+            this.size = 0;
+            return this;
+        }
+
+        /**
+         * This method creates the genome with the added commands, splitting the runs longer than 10 commands in
+         * two halves.
+         *
+         * @return the genome.
+         */
+        public Genome build() {
+            if (this.size == 0) {
+                return EMPTY;
+            }
+
+            int blocks = this.runs;
+            for (int run = 0; run < this.runs; run++) {
+                if (this.runDurations[run] > MAX_BLOCK_DURATION) {
+                    blocks++;
+                }
+            }
+
+            byte[] buttons = new byte[blocks];
+            int[] durations = new int[blocks];
+
+            int block = 0;
+            for (int run = 0; run < this.runs; run++) {
+                int duration = this.runDurations[run];
+
+                if (duration > MAX_BLOCK_DURATION) {
+                    buttons[block] = this.runButtons[run];
+                    durations[block++] = duration / 2;
+                    buttons[block] = this.runButtons[run];
+                    durations[block++] = duration - duration / 2;
+                } else {
+                    buttons[block] = this.runButtons[run];
+                    durations[block++] = duration;
+                }
+            }
+            return new Genome(buttons, durations, this.size);
+        }
+    }
+}
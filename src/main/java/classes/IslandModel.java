@@ -0,0 +1,313 @@
+package classes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Class that represents the island model of the genetic algorithm: many populations evolving on threads of their
+ * own, each with its own selection and crossover settings, which exchange their fittest chromosomes every few
+ * generations. Every island sends its chromosomes to the same evaluator, sharing the Mario servers.
+ * <p>
+ * The islands wait for each other only on the generations with a migration, where the fittest chromosomes of each
+ * island take the place of the least fit chromosomes of another island, chosen by the migration topology:
+ * <ul>
+ * <li><i>RING</i>, each island sends its chromosomes to the next one;</li>
+ * <li><i>RANDOM</i>, each island sends its chromosomes to another island drawn from the session seed.</li>
+ * </ul>
+ * The islands can be one node of a session spread over many JVMs: on the same generations the fittest chromosomes of
+ * the node are exchanged with the other nodes through the migration coordinator.
+ */
+public class IslandModel implements AutoCloseable {
+
+    // phase of a generation with its own random stream, apart from the phases of the islands
+    private static final int MIGRATION_PHASE = 2;
+
+    private final ChromosomeEvaluator evaluator;
+    private final GeneticAlgorithm[] islands;
+    private final RandomService randomService;
+
+    private final int migrationInterval;
+    private final int migrationSize;
+    private final String migrationTopology;
+    private final CyclicBarrier migration;
+
+    // the other nodes of a distributed session, or null
+    private final MigrationClient remote;
+
+    // shared by the islands, the first island reaching a policy stops every island
+    private final Termination termination;
+
+    // best chromosome of every island
+    private Chromosome bestFit;
+    private volatile boolean failed = false;
+
+    /**
+     * This method creates a new instance of the <i>IslandModel class</i>, with the first generation of each island.
+     *
+     * @param config    the configuration of the session, with the number of islands and the settings of each one.
+     * @param evaluator the evaluator shared by the islands.
+     */
+    public IslandModel(GaConfig config, ChromosomeEvaluator evaluator) {
+        this(config, evaluator, null);
+    }
+
+    /**
+     * This method creates a new instance of the <i>IslandModel class</i> for a node of a distributed session.
+     *
+     * @param config    the configuration of the session, with the number of islands and the settings of each one.
+     * @param evaluator the evaluator shared by the islands.
+     * @param remote    the connection to the coordinator, or null for a session of a single node.
+     */
+    public IslandModel(GaConfig config, ChromosomeEvaluator evaluator, MigrationClient remote) {
+        this(config, evaluator, remote, new Termination(config));
+    }
+
+    /**
+     * This method creates a new instance of the <i>IslandModel class</i> for a node of a distributed session, with
+     * the policies which may stop it before its last generation.
+     *
+     * @param config      the configuration of the session, with the number of islands and the settings of each one.
+     * @param evaluator   the evaluator shared by the islands.
+     * @param remote      the connection to the coordinator, or null for a session of a single node.
+     * @param termination the termination policies of the session.
+     */
+    public IslandModel(GaConfig config, ChromosomeEvaluator evaluator, MigrationClient remote,
+                       Termination termination) {
+        this.evaluator = evaluator;
+        this.remote = remote;
+        this.termination = termination;
+        this.islands = new GeneticAlgorithm[config.getIslands()];
+        this.randomService = new RandomService(config.getSeed());
+
+        this.migrationInterval = config.getMigrationInterval();
+        this.migrationSize = config.getMigrationSize();
+        this.migrationTopology = config.getMigrationTopology();
+        this.migration = new CyclicBarrier(this.islands.length, this::migrate);
+
+        int node = remote == null ? 0 : remote.getNode();
+        String fileName = String.valueOf(System.currentTimeMillis()) + (remote == null ? "" : "_node_" + node);
+        for (int i = 0; i < this.islands.length; i++) {
+            this.islands[i] = GeneticAlgorithm.newPopulation(config.forIsland(i + 1, node),
+                    fileName + "_island_" + (i + 1));
+        }
+    }
+
+    /**
+     * This method evolves every island until the given generation, each one on a thread of its own.
+     *
+     * @param generations the number of the last generation.
+     */
+    public void run(int generations) {
+        List<Thread> threads = new ArrayList<>(this.islands.length);
+
+        for (int i = 0; i < this.islands.length; i++) {
+            final int island = i;
+            Thread thread = new Thread(() -> runIsland(island, generations), "island-" + (i + 1));
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            try {
+                while (thread.isAlive()) {
+                    thread.join(100);
+
+                    // no migration completes once the session stopped, the islands still waiting for one are released
+                    if (this.termination.isStopped()) {
+                        this.migration.reset();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.failed = true;
+                this.migration.reset();
+                System.err.println("Interrupted while waiting for the islands.");
+                return;
+            }
+        }
+
+        if (!this.failed) {
+            this.termination.finish(generations);
+        }
+    }
+
+    /**
+     * Evolves an island, waiting for the other islands on the generations with a migration. Once the session
+     * stopped, the island stores its last generation without waiting for a migration.
+     */
+    private void runIsland(int island, int generations) {
+        GeneticAlgorithm population = this.islands[island];
+
+        try {
+            while (population.getNumGen() <= generations && !this.failed && !this.termination.isStopped()) {
+                FlightRecording.GenerationEvaluated evaluated = new FlightRecording.GenerationEvaluated();
+                evaluated.begin();
+
+                this.evaluator.evaluate(population.getCurrGen(), population.getLevel(), population.isRender());
+                population.calculateFitness();
+                updateBestFit(population.getBestFit());
+
+                GenerationStats stats = population.getCurrGen().getStats();
+                evaluated.island = island + 1;
+                evaluated.generation = population.getNumGen();
+                evaluated.chromosomes = population.getCurrGen().getGeneration().size();
+                evaluated.averagePos = stats.getPos().getMean();
+                evaluated.averageFitness = stats.getFitness().getMean();
+                evaluated.bestFitness = population.getBestFit().getFitnessValue();
+                evaluated.commit();
+
+                System.out.println("Island " + (island + 1) + " - Generation " + population.getNumGen()
+                        + ": Average X_POS: " + stats.getPos().getMean()
+                        + " Average Fitness: " + stats.getFitness().getMean()
+                        + " Best Fitness: " + population.getBestFit().getFitnessValue());
+
+                boolean stop = this.termination.shouldStop(getBestFit(), this.evaluator.getEvaluated(),
+                        population.getNumGen());
+
+                if (!stop && (this.islands.length > 1 || this.remote != null)
+                        && population.getNumGen() % this.migrationInterval == 0) {
+                    this.migration.await();
+                }
+
+                population.breedNewGen();
+            }
+        } catch (BrokenBarrierException b) {
+            // another island stopped, this one stops too, storing its generation if the session stopped
+            if (this.termination.isStopped() && !this.failed) {
+                population.breedNewGen();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop("Island " + (island + 1) + " was interrupted.");
+        } catch (RuntimeException e) {
+            stop("Something went wrong on island " + (island + 1) + ": " + e);
+        }
+    }
+
+    /**
+     * Stops every island, releasing the islands waiting for a migration.
+     */
+    private void stop(String message) {
+        this.failed = true;
+        this.migration.reset();
+        System.err.println(message + " -> Stopping the islands.");
+    }
+
+    /**
+     * Exchanges the fittest chromosomes of the islands, run by the last island to arrive while the others wait.
+     */
+    private void migrate() {
+        int numGen = this.islands[0].getNumGen();
+        SplittableRandom random = this.randomService.stream(numGen, MIGRATION_PHASE);
+
+        // every island chooses its emigrants before receiving any immigrant
+        List<List<Chromosome>> emigrants = new ArrayList<>(this.islands.length);
+        for (GeneticAlgorithm island : this.islands) {
+            emigrants.add(island.getFittest(this.migrationSize));
+        }
+
+        for (int i = 0; i < this.islands.length && this.islands.length > 1; i++) {
+            int target;
+
+            if (this.migrationTopology.equals("RANDOM")) {
+                // any island but this one
+                target = random.nextInt(this.islands.length - 1);
+                target = target >= i ? target + 1 : target;
+            } else {
+                target = (i + 1) % this.islands.length;
+            }
+            this.islands[target].acceptMigrants(emigrants.get(i));
+        }
+
+        if (this.islands.length > 1) {
+            System.out.println("Migration - Generation " + numGen + ": " + this.migrationSize
+                    + " chromosomes per island (" + this.migrationTopology + ")");
+        }
+
+        if (this.remote != null && this.remote.isConnected()) {
+            migrateRemote(numGen, emigrants);
+        }
+    }
+
+    /**
+     * Exchanges the fittest chromosomes of this node with another node, the chromosomes received being spread over
+     * the islands.
+     */
+    private void migrateRemote(int numGen, List<List<Chromosome>> emigrants) {
+        List<Chromosome> fittest = new ArrayList<>();
+        for (List<Chromosome> tmp : emigrants) {
+            fittest.addAll(tmp);
+        }
+
+        Collections.sort(fittest);
+        Collections.reverse(fittest);
+
+        List<Chromosome> immigrants = this.remote.exchange(numGen,
+                fittest.subList(0, Math.min(this.migrationSize, fittest.size())));
+
+        List<List<Chromosome>> received = new ArrayList<>(this.islands.length);
+        for (int i = 0; i < this.islands.length; i++) {
+            received.add(new ArrayList<>());
+        }
+        for (int i = 0; i < immigrants.size(); i++) {
+            received.get(i % this.islands.length).add(immigrants.get(i));
+        }
+
+        for (int i = 0; i < this.islands.length; i++) {
+            if (!received.get(i).isEmpty()) {
+                this.islands[i].acceptMigrants(received.get(i));
+            }
+        }
+
+        if (!immigrants.isEmpty()) {
+            updateBestFit(immigrants.get(0));
+        }
+        System.out.println("Migration - Generation " + numGen + ": " + immigrants.size()
+                + " chromosomes from another node, best fitness of every node " + this.remote.getGlobalBestFitness());
+    }
+
+    private synchronized void updateBestFit(Chromosome candidate) {
+        if (candidate != null && (this.bestFit == null
+                || this.bestFit.getFitnessValue() < candidate.getFitnessValue())) {
+            // the island keeps changing its own chromosomes
+            this.bestFit = candidate.clone();
+        }
+    }
+
+    /**
+     * A getter method that returns the best chromosome of every island
+     *
+     * @return the best chromosome, or null if no generation was evaluated
+     */
+    public synchronized Chromosome getBestFit() {
+        return this.bestFit;
+    }
+
+    /**
+     * A getter method that returns the number of islands
+     *
+     * @return the number of islands
+     */
+    public int getIslands() {
+        return this.islands.length;
+    }
+
+    /**
+     * This method stores the generations still waiting to be written and closes the session files of every island.
+     */
+    @Override
+    public void close() {
+        for (GeneticAlgorithm island : this.islands) {
+            island.close(this.termination.getReason());
+        }
+    }
+}
+
+enum MIGRATION_TOPOLOGIES {
+    RING,
+    RANDOM
+}
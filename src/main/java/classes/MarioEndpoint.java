@@ -0,0 +1,171 @@
+package classes;
+
+import luigi.MarioUtils;
+import luigi.Request;
+import luigi.RunResult;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class represents one Mario server of a <i>MarioServerPool</i> and keeps track of its health
+ */
+public class MarioEndpoint {
+
+    // weight of the newest latency sample in the moving average
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    private final String host;
+    private final int port;
+    private final MarioUtils server;
+
+    // requests currently being played by this endpoint
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    // statistics, guarded by this
+    private long requests;
+    private long errors;
+    private int consecutiveErrors;
+    private double avgLatencyMillis;
+    private long ejectedUntil;
+
+    /**
+     * This method creates a new instance of the <i>MarioEndpoint class</i>.
+     *
+     * @param host the host of the Mario server.
+     * @param port the port of the Mario server.
+     */
+    public MarioEndpoint(String host, int port) {
+        this.host = host;
+        this.port = port;
+        this.server = new MarioUtils(host);
+    }
+
+    /**
+     * This method parses an endpoint written as <i>host:port</i>.
+     *
+     * @param address the address of the endpoint.
+     * @return the endpoint.
+     * @throws IllegalArgumentException if the address isn't in the <i>host:port</i> format.
+     */
+    public static MarioEndpoint parse(String address) {
+        String[] hostPort = address.trim().split(":");
+
+        if (hostPort.length != 2) {
+            throw new IllegalArgumentException("Invalid server address (expected host:port): " + address);
+        }
+
+        try {
+            return new MarioEndpoint(hostPort[0], Integer.parseInt(hostPort[1]));
+        } catch (NumberFormatException n) {
+            throw new IllegalArgumentException("Invalid server port: " + address);
+        }
+    }
+
+    /**
+     * This method plays a request on this endpoint and records its latency and outcome.
+     *
+     * @param request the request to be played.
+     * @return the result of the run, or null if the server failed to answer.
+     */
+    RunResult play(Request request) {
+        this.outstanding.incrementAndGet();
+        long start = System.nanoTime();
+
+        RunResult result;
+        try {
+            result = this.server.goMarioGo(request, this.port);
+        } catch (RuntimeException r) {
+            result = null;
+        } finally {
+            this.outstanding.decrementAndGet();
+        }
+
+        // MarioUtils returns an empty result when the request fails
+        boolean failed = result == null || result.getReason_finish() == null;
+        long nanos = System.nanoTime() - start;
+        record(nanos / 1_000_000.0, failed);
+        SessionMetrics.getDefault().getMarioRequests().record(nanos);
+
+        return failed ? null : result;
+    }
+
+    /**
+     * Records the outcome of a request.
+     *
+     * @param latencyMillis the time the request took.
+     * @param failed        whether the request failed.
+     */
+    private synchronized void record(double latencyMillis, boolean failed) {
+        this.requests++;
+
+        if (failed) {
+            this.errors++;
+            this.consecutiveErrors++;
+        } else {
+            this.consecutiveErrors = 0;
+            this.avgLatencyMillis = this.requests == 1 ? latencyMillis
+                    : this.avgLatencyMillis + LATENCY_SMOOTHING * (latencyMillis - this.avgLatencyMillis);
+        }
+    }
+
+    /**
+     * This method ejects the endpoint if it failed too many times in a row.
+     *
+     * @param maxConsecutiveErrors the number of failures in a row that ejects the endpoint.
+     * @param ejectMillis          how long the endpoint stays ejected.
+     * @return true if the endpoint was ejected.
+     */
+    synchronized boolean ejectIfFailing(int maxConsecutiveErrors, long ejectMillis) {
+        if (this.consecutiveErrors >= maxConsecutiveErrors) {
+            this.consecutiveErrors = 0;
+            this.ejectedUntil = System.currentTimeMillis() + ejectMillis;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * This method states if the endpoint can receive requests.
+     *
+     * @param now the current time in milliseconds.
+     * @return true if the endpoint isn't ejected.
+     */
+    synchronized boolean isAvailable(long now) {
+        return now >= this.ejectedUntil;
+    }
+
+    synchronized long getEjectedUntil() {
+        return this.ejectedUntil;
+    }
+
+    int getOutstanding() {
+        return this.outstanding.get();
+    }
+
+    public String getAddress() {
+        return this.host + ":" + this.port;
+    }
+
+    public synchronized long getRequests() {
+        return this.requests;
+    }
+
+    public synchronized long getErrors() {
+        return this.errors;
+    }
+
+    public synchronized double getErrorRate() {
+        return this.requests == 0 ? 0 : (double) this.errors / this.requests;
+    }
+
+    public synchronized double getAvgLatencyMillis() {
+        return this.avgLatencyMillis;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return getAddress() + " - requests: " + this.requests + ", errors: " + this.errors
+                + ", avg latency: " + String.format("%.1f", this.avgLatencyMillis) + " ms"
+                + (System.currentTimeMillis() < this.ejectedUntil ? " (ejected)" : "");
+    }
+}
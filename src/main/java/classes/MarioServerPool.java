@@ -0,0 +1,133 @@
+package classes;
+
+import luigi.Request;
+import luigi.RunResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class that balances requests across several Mario servers, sending each request to the available server with
+ * the least outstanding requests and temporarily ejecting servers that keep failing
+ */
+public class MarioServerPool {
+
+    private final List<MarioEndpoint> endpoints;
+    private final int ejectAfterErrors;
+    private final long ejectMillis;
+
+    /**
+     * This method creates a new instance of the <i>MarioServerPool class</i>.
+     *
+     * @param endpoints        the Mario servers.
+     * @param ejectAfterErrors the number of failures in a row that ejects a server.
+     * @param ejectMillis      how long an ejected server stops receiving requests.
+     */
+    public MarioServerPool(List<MarioEndpoint> endpoints, int ejectAfterErrors, long ejectMillis) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("The server pool needs at least one server.");
+        }
+
+        this.endpoints = Collections.unmodifiableList(new ArrayList<>(endpoints));
+        this.ejectAfterErrors = Math.max(1, ejectAfterErrors);
+        this.ejectMillis = ejectMillis;
+    }
+
+    /**
+     * This method creates a pool from a list of <i>host:port</i> addresses.
+     *
+     * @param addresses        the addresses of the Mario servers.
+     * @param ejectAfterErrors the number of failures in a row that ejects a server.
+     * @param ejectMillis      how long an ejected server stops receiving requests.
+     * @return the pool.
+     */
+    public static MarioServerPool fromAddresses(List<String> addresses, int ejectAfterErrors, long ejectMillis) {
+        List<MarioEndpoint> endpoints = new ArrayList<>(addresses.size());
+
+        for (String address : addresses) {
+            endpoints.add(MarioEndpoint.parse(address));
+        }
+        return new MarioServerPool(endpoints, ejectAfterErrors, ejectMillis);
+    }
+
+    /**
+     * This method plays a request on the least loaded server, trying the other servers if it fails.
+     *
+     * @param request the request to be played.
+     * @return the result of the run, or an empty result if every server failed.
+     */
+    public RunResult play(Request request) {
+        List<MarioEndpoint> tried = new ArrayList<>(this.endpoints.size());
+
+        while (tried.size() < this.endpoints.size()) {
+            MarioEndpoint endpoint = choose(tried);
+            tried.add(endpoint);
+
+            RunResult result = endpoint.play(request);
+
+            if (result != null) {
+                return result;
+            }
+
+            if (endpoint.ejectIfFailing(this.ejectAfterErrors, this.ejectMillis)) {
+                System.err.println("Mario server " + endpoint.getAddress() + " ejected for " + this.ejectMillis + " ms.");
+            }
+        }
+
+        System.err.println("Every Mario server failed to play the request.");
+        return new RunResult();
+    }
+
+    /**
+     * Chooses the available server with the least outstanding requests. If every server is ejected the one that
+     * comes back first is chosen, so requests are never dropped.
+     *
+     * @param exclude the servers already tried for this request.
+     * @return the chosen server.
+     */
+    private MarioEndpoint choose(List<MarioEndpoint> exclude) {
+        long now = System.currentTimeMillis();
+        MarioEndpoint best = null;
+        MarioEndpoint firstBack = null;
+
+        for (MarioEndpoint tmp : this.endpoints) {
+            if (exclude.contains(tmp)) {
+                continue;
+            }
+
+            if (tmp.isAvailable(now)) {
+                if (best == null || tmp.getOutstanding() < best.getOutstanding()) {
+                    best = tmp;
+                }
+            } else if (firstBack == null || tmp.getEjectedUntil() < firstBack.getEjectedUntil()) {
+                firstBack = tmp;
+            }
+        }
+
+        return best != null ? best : firstBack;
+    }
+
+    /**
+     * A getter method that returns the servers of the pool
+     *
+     * @return the servers of the pool
+     */
+    public List<MarioEndpoint> getEndpoints() {
+        return this.endpoints;
+    }
+
+    /**
+     * A method which prints the statistics of every server
+     *
+     * @return a string with the statistics of every server
+     */
+    public String printStats() {
+        StringBuilder stats = new StringBuilder();
+
+        for (MarioEndpoint tmp : this.endpoints) {
+            stats.append(tmp).append("\n");
+        }
+        return stats.toString();
+    }
+}
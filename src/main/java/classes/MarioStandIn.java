@@ -0,0 +1,368 @@
+package classes;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import luigi.Request;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class that stands in for a Mario server, so the genetic algorithm can run without an emulator (eg: for benchmarks).
+ * It answers the same <i>/process</i> requests as a Mario server, in the same format, but plays a simplified level
+ * instead of the real one:
+ * <ul>
+ * <li>Mario walks (Right), runs (Right + B) or goes back (Left), and jumps when A is pressed again while on the
+ * ground;</li>
+ * <li>the level has pits and enemies at fixed positions, drawn from the world and stage, and Mario dies if he's on the
+ * ground inside one of them, or if the time runs out;</li>
+ * <li>a coin is collected by jumping over a coin block, and each obstacle passed is worth 100 points;</li>
+ * <li>the flag is at the end of the level, which is as long as the time given to finish it allows.</li>
+ * </ul>
+ * The same inputs always get the same result. Each run takes a fixed time, like the emulator takes to play it.
+ */
+public class MarioStandIn implements AutoCloseable {
+
+    // commands played per unit of the level time, and position where Mario starts, as on the Mario servers
+    private static final int COMMANDS_PER_TICK = 20;
+    private static final int START_X = 40;
+
+    // commands Mario stays in the air after a jump
+    private static final int JUMP_COMMANDS = 16;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int latencyMillis;
+    private final Gson gson = new Gson();
+
+    // levels already drawn, by level name
+    private final Map<String, Course> courses = new ConcurrentHashMap<>();
+    private final AtomicLong episodes = new AtomicLong();
+
+    /**
+     * This method creates a new instance of the <i>MarioStandIn class</i> and starts answering requests.
+     *
+     * @param port          the port to listen on, 0 for any free port.
+     * @param latencyMillis the time each run takes, in milliseconds.
+     * @param workers       the number of runs played at the same time, 1 as a Mario server.
+     * @throws IOException if the port couldn't be opened.
+     */
+    public MarioStandIn(int port, int latencyMillis, int workers) throws IOException {
+        this.latencyMillis = Math.max(0, latencyMillis);
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, workers), r -> {
+            Thread thread = new Thread(r, "mario-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.server.createContext("/process", this::handle);
+        this.server.setExecutor(this.executor);
+        this.server.start();
+    }
+
+    /**
+     * This method starts a stand-in until the process is stopped.
+     *
+     * @param args the port (default 8080), the time each run takes in milliseconds (default 0) and the number of runs
+     *             played at the same time (default 1).
+     * @throws IOException if the port couldn't be opened.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int latencyMillis = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+
+        MarioStandIn standIn = new MarioStandIn(port, latencyMillis, workers);
+        System.out.println("Mario stand-in listening on " + standIn.getAddress() + " (" + latencyMillis
+                + " ms per run, " + workers + " at a time).");
+    }
+
+    /**
+     * Answers a request of the Mario client.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                respond(exchange, 405, "Only POST is supported.");
+                return;
+            }
+
+            Request request;
+            try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+                request = this.gson.fromJson(reader, Request.class);
+            } catch (JsonParseException j) {
+                respond(exchange, 400, "Invalid request: " + j.getMessage());
+                return;
+            }
+
+            Course course = request == null ? null : course(request.getLevel());
+            if (course == null || request.getSolution() == null) {
+                respond(exchange, 400, "Invalid request: unknown level or no solution.");
+                return;
+            }
+
+            String body = course.play(request.getSolution());
+            this.episodes.incrementAndGet();
+
+            if (this.latencyMillis > 0) {
+                try {
+                    Thread.sleep(this.latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            respond(exchange, 200, body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Finds the course of a level named as <i>SuperMarioBros-world-stage-vversion</i>, drawing it the first time.
+     */
+    private Course course(String level) {
+        if (level == null) {
+            return null;
+        }
+
+        String[] parts = level.split("-");
+        if (parts.length != 4) {
+            return null;
+        }
+
+        try {
+            int world = Integer.parseInt(parts[1]);
+            int stage = Integer.parseInt(parts[2]);
+
+            if (world < 1 || world > 8 || stage < 1 || stage > 4) {
+                return null;
+            }
+            return this.courses.computeIfAbsent(level, l -> new Course(world, stage));
+        } catch (NumberFormatException n) {
+            return null;
+        }
+    }
+
+    /**
+     * A getter method that returns the address of the stand-in, to be used as a server of the genetic algorithm
+     *
+     * @return the address, as host:port
+     */
+    public String getAddress() {
+        return "127.0.0.1:" + this.server.getAddress().getPort();
+    }
+
+    /**
+     * A getter method that returns the number of runs played
+     *
+     * @return the number of runs
+     */
+    public long getEpisodes() {
+        return this.episodes.get();
+    }
+
+    /**
+     * This method stops answering requests.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * The obstacles and coin blocks of a level, always the same for the same world and stage.
+     */
+    private static final class Course {
+
+        private final int world;
+        private final int stage;
+        private final int levelTime;
+        private final int length;
+
+        // obstacles from start (inclusive) to end (exclusive), in order
+        private final int[] obstacleStarts;
+        private final int[] obstacleEnds;
+        private final int[] coinBlocks;
+
+        Course(int world, int stage) {
+            this.world = world;
+            this.stage = stage;
+            this.levelTime = GeneticAlgorithm.levelTimeMapping[world - 1][stage - 1];
+            // 3161 on a level of 400, where the flag of 1-1 is
+            this.length = this.levelTime * 8 - 39;
+
+            SplittableRandom random = new SplittableRandom(world * 16L + stage);
+            List<int[]> obstacles = new ArrayList<>();
+            List<Integer> coins = new ArrayList<>();
+
+            int x = 200;
+            while (x < this.length - 120) {
+                // the widest obstacles can only be jumped while running
+                int width = 16 + random.nextInt(25);
+                obstacles.add(new int[]{x, x + width});
+
+                int gap = 120 + random.nextInt(200);
+                if (random.nextInt(3) > 0) {
+                    coins.add(x + width + 30 + random.nextInt(gap - 60));
+                }
+                x += width + gap;
+            }
+
+            this.obstacleStarts = new int[obstacles.size()];
+            this.obstacleEnds = new int[obstacles.size()];
+            for (int i = 0; i < obstacles.size(); i++) {
+                this.obstacleStarts[i] = obstacles.get(i)[0];
+                this.obstacleEnds[i] = obstacles.get(i)[1];
+            }
+
+            this.coinBlocks = new int[coins.size()];
+            for (int i = 0; i < coins.size(); i++) {
+                this.coinBlocks[i] = coins.get(i);
+            }
+        }
+
+        /**
+         * Plays the inputs and returns the answer of a Mario server.
+         */
+        String play(Integer[] solution) {
+            int x = START_X;
+            int airborne = 0;
+            boolean jumpHeld = false;
+            int coins = 0;
+            int passed = 0;
+            int nextCoin = 0;
+
+            String reason = "no_more_commands";
+            int used = solution.length;
+
+            for (int i = 0; i < solution.length; i++) {
+                int button = solution[i] == null ? 0 : solution[i];
+                boolean jump = button == 2 || button == 4 || button == 5 || button == 7 || button == 9;
+
+                if (airborne > 0) {
+                    airborne--;
+                } else if (jump && !jumpHeld) {
+                    airborne = JUMP_COMMANDS;
+                }
+                jumpHeld = jump;
+                x = Math.max(0, x + step(button));
+
+                // coin blocks are only reached in the air
+                while (nextCoin < this.coinBlocks.length && this.coinBlocks[nextCoin] <= x) {
+                    coins += airborne > 0 ? 1 : 0;
+                    nextCoin++;
+                }
+                while (passed < this.obstacleEnds.length && this.obstacleEnds[passed] <= x) {
+                    passed++;
+                }
+
+                if (x >= this.length) {
+                    x = this.length;
+                    reason = "win";
+                    used = i + 1;
+                    break;
+                }
+                if ((airborne == 0 && inObstacle(x)) || this.levelTime - (i + 1) / COMMANDS_PER_TICK <= 0) {
+                    reason = "death";
+                    used = i + 1;
+                    break;
+                }
+            }
+
+            int timeLeft = Math.max(0, this.levelTime - used / COMMANDS_PER_TICK);
+            return answer(reason, coins, coins * 200 + passed * 100, used, timeLeft, x, solution,
+                    reason.equals("win") ? "True" : "False");
+        }
+
+        private static int step(int button) {
+            switch (button) {
+                case 1:
+                case 2:
+                    return 2;
+                case 3:
+                case 4:
+                    return 3;
+                case 6:
+                case 7:
+                    return -2;
+                case 8:
+                case 9:
+                    return -3;
+                default:
+                    return 0;
+            }
+        }
+
+        private boolean inObstacle(int x) {
+            for (int i = 0; i < this.obstacleStarts.length && this.obstacleStarts[i] <= x; i++) {
+                if (x < this.obstacleEnds[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Writes a result as a Mario server does: a JSON string holding the JSON of the result, which the Mario
+         * client reads field by field after the "key: " of each one.
+         */
+        private String answer(String reason, int coins, int score, int used, int timeLeft, int x, Integer[] solution,
+                              String flag) {
+            StringBuilder out = new StringBuilder(64 + solution.length * 4);
+            out.append("\"{");
+            text(out, "reason_finish", reason).append(", ");
+            number(out, "coins", coins).append(", ");
+            number(out, "score", score).append(", ");
+            number(out, "commands_used", used).append(", ");
+            number(out, "time_left", timeLeft).append(", ");
+            number(out, "x_pos", x).append(", ");
+            number(out, "world", this.world).append(", ");
+            number(out, "stage", this.stage).append(", ");
+
+            out.append("\\\"solution\\\": [");
+            for (int i = 0; i < used; i++) {
+                out.append(i == 0 ? "" : ", ").append(solution[i] == null ? 0 : solution[i]);
+            }
+            out.append("], ");
+
+            text(out, "timestamp", "0").append(", ");
+            text(out, "flag_get", flag).append(", ");
+            text(out, "status", "small");
+            return out.append("}\"").toString();
+        }
+
+        private static StringBuilder number(StringBuilder out, String key, int value) {
+            return out.append("\\\"").append(key).append("\\\": ").append(value);
+        }
+
+        private static StringBuilder text(StringBuilder out, String key, String value) {
+            return out.append("\\\"").append(key).append("\\\": \\\"").append(value).append("\\\"");
+        }
+    }
+}
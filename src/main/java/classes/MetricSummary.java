@@ -0,0 +1,76 @@
+package classes;
+
+/**
+ * Class that represents the summary of a metric over a generation (eg: the x_pos of every chromosome)
+ */
+public final class MetricSummary {
+
+    public static final MetricSummary EMPTY = new MetricSummary(0, 0, 0, 0, 0, 0, 0);
+
+    private final int count;
+    private final double mean;
+    private final double min;
+    private final double max;
+    private final double stdDev;
+    private final double p50;
+    private final double p90;
+
+    MetricSummary(int count, double mean, double min, double max, double stdDev, double p50, double p90) {
+        this.count = count;
+        this.mean = mean;
+        this.min = min;
+        this.max = max;
+        this.stdDev = stdDev;
+        this.p50 = p50;
+        this.p90 = p90;
+    }
+
+    public int getCount() {
+        return this.count;
+    }
+
+    public double getMean() {
+        return this.mean;
+    }
+
+    public double getMin() {
+        return this.min;
+    }
+
+    public double getMax() {
+        return this.max;
+    }
+
+    /**
+     * A getter method that returns the population standard deviation
+     *
+     * @return the standard deviation
+     */
+    public double getStdDev() {
+        return this.stdDev;
+    }
+
+    /**
+     * A getter method that returns the median
+     *
+     * @return the value below which half of the values are
+     */
+    public double getP50() {
+        return this.p50;
+    }
+
+    /**
+     * A getter method that returns the 90th percentile
+     *
+     * @return the value below which 90% of the values are
+     */
+    public double getP90() {
+        return this.p90;
+    }
+
+    @Override
+    public String toString() {
+        return "mean: " + this.mean + ", min: " + this.min + ", max: " + this.max + ", stddev: " + this.stdDev
+                + ", p50: " + this.p50 + ", p90: " + this.p90;
+    }
+}
@@ -0,0 +1,121 @@
+package classes;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class that represents the messages exchanged by the nodes of a distributed session and their coordinator.
+ * <p>
+ * Format (big endian):
+ * <pre>
+ * HELLO    byte 1, the level in modified UTF-8          (node to coordinator)
+ * WELCOME  byte 1, int number of the node              (coordinator to node)
+ * REFUSED  byte 3, the reason in modified UTF-8         (coordinator to node)
+ * MIGRANTS byte 2
+ *          int    generation number of the node
+ *          double best fitness value of every node, in the answers of the coordinator
+ *          int    number of bytes, then the chromosomes:
+ *            int  number of chromosomes
+ *            each chromosome, a double fitness value and the genome encoded as in a checkpoint
+ * </pre>
+ */
+final class MigrantFrame {
+
+    static final byte HELLO = 1;
+    static final byte WELCOME = 1;
+    static final byte MIGRANTS = 2;
+    static final byte REFUSED = 3;
+
+    // larger frames are a broken or foreign connection
+    private static final int MAX_BYTES = 64 * 1024 * 1024;
+
+    private final int numGen;
+    private final double bestFitness;
+    private final List<Chromosome> migrants;
+
+    MigrantFrame(int numGen, double bestFitness, List<Chromosome> migrants) {
+        this.numGen = numGen;
+        this.bestFitness = bestFitness;
+        this.migrants = migrants;
+    }
+
+    /**
+     * This method writes the frame, without the type, and flushes the stream.
+     *
+     * @param out the stream.
+     * @throws IOException if the frame couldn't be written.
+     */
+    void write(DataOutputStream out) throws IOException {
+        int size = 4;
+        for (Chromosome tmp : this.migrants) {
+            size += 8 + Checkpoint.encodedSize(tmp.getInputs());
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(this.migrants.size());
+        for (Chromosome tmp : this.migrants) {
+            buffer.putDouble(tmp.getFitnessValue());
+            Checkpoint.encode(buffer, tmp.getInputs());
+        }
+
+        out.writeByte(MIGRANTS);
+        out.writeInt(this.numGen);
+        out.writeDouble(this.bestFitness);
+        out.writeInt(size);
+        out.write(buffer.array());
+        out.flush();
+    }
+
+    /**
+     * This method reads a frame, without the type.
+     *
+     * @param in the stream.
+     * @return the frame.
+     * @throws IOException if the frame couldn't be read or is damaged.
+     */
+    static MigrantFrame read(DataInputStream in) throws IOException {
+        int numGen = in.readInt();
+        double bestFitness = in.readDouble();
+        int size = in.readInt();
+
+        if (size < 4 || size > MAX_BYTES) {
+            throw new IOException("Invalid migrants frame of " + size + " bytes.");
+        }
+
+        byte[] bytes = new byte[size];
+        in.readFully(bytes);
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            int count = buffer.getInt();
+            List<Chromosome> migrants = new ArrayList<>(Math.min(count, size / 13));
+            Genome.Builder builder = new Genome.Builder(256);
+
+            for (int i = 0; i < count; i++) {
+                Chromosome migrant = new Chromosome();
+                migrant.setFitnessValue(buffer.getDouble());
+                migrant.setInputs(Checkpoint.decode(buffer, builder));
+                migrants.add(migrant);
+            }
+            return new MigrantFrame(numGen, bestFitness, migrants);
+        } catch (RuntimeException e) {
+            throw new IOException("Damaged migrants frame.", e);
+        }
+    }
+
+    int getNumGen() {
+        return this.numGen;
+    }
+
+    double getBestFitness() {
+        return this.bestFitness;
+    }
+
+    List<Chromosome> getMigrants() {
+        return this.migrants;
+    }
+}
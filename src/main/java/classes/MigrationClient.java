@@ -0,0 +1,156 @@
+package classes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class that connects a node of a distributed session to the migration coordinator. If the coordinator can't be
+ * reached, or stops answering, the node carries on with its own islands only.
+ */
+public class MigrationClient implements AutoCloseable {
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final int node;
+
+    private volatile boolean connected = true;
+    private double globalBestFitness = 0;
+
+    private MigrationClient(Socket socket, DataInputStream in, DataOutputStream out, int node) {
+        this.socket = socket;
+        this.in = in;
+        this.out = out;
+        this.node = node;
+    }
+
+    /**
+     * This method connects to the coordinator of a distributed session.
+     *
+     * @param address       the address of the coordinator, as host:port.
+     * @param level         the level played by this node.
+     * @param timeoutMillis the time waited for the coordinator on each message, in milliseconds.
+     * @return the connection, or null if the coordinator couldn't be reached or refused this node.
+     */
+    public static MigrationClient connect(String address, String level, int timeoutMillis) {
+        Socket socket = new Socket();
+
+        try {
+            String[] hostPort = address.trim().split(":");
+            if (hostPort.length != 2) {
+                throw new IllegalArgumentException("expected host:port");
+            }
+
+            socket.connect(new InetSocketAddress(hostPort[0], Integer.parseInt(hostPort[1])), timeoutMillis);
+            socket.setSoTimeout(timeoutMillis);
+            socket.setTcpNoDelay(true);
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            out.writeByte(MigrantFrame.HELLO);
+            out.writeUTF(level);
+            out.flush();
+
+            byte answer = in.readByte();
+            if (answer == MigrantFrame.REFUSED) {
+                System.out.println("The coordinator refused this node: " + in.readUTF()
+                        + " -> Continuing without migrations between nodes.");
+                socket.close();
+                return null;
+            }
+            if (answer != MigrantFrame.WELCOME) {
+                throw new IOException("Unknown answer.");
+            }
+
+            int node = in.readInt();
+            System.out.println("Connected to the coordinator " + address + " as node " + node + ".");
+            return new MigrationClient(socket, in, out, node);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("A problem occurred connecting to the coordinator " + address + " (" + e.getMessage()
+                    + ") -> Continuing without migrations between nodes.");
+            try {
+                socket.close();
+            } catch (IOException c) {
+                // already closed
+            }
+            return null;
+        }
+    }
+
+    /**
+     * This method sends the fittest chromosomes of this node to the coordinator and returns the chromosomes of another
+     * node. If the coordinator doesn't answer the connection is closed and no more migrations are made.
+     *
+     * @param numGen    the number of the generation of this node.
+     * @param emigrants the fittest chromosomes of this node.
+     * @return the chromosomes of another node, or an empty list if there aren't any new ones.
+     */
+    public synchronized List<Chromosome> exchange(int numGen, List<Chromosome> emigrants) {
+        if (!this.connected) {
+            return Collections.emptyList();
+        }
+
+        try {
+            new MigrantFrame(numGen, 0, emigrants).write(this.out);
+
+            if (this.in.readByte() != MigrantFrame.MIGRANTS) {
+                throw new IOException("Unknown answer.");
+            }
+
+            MigrantFrame frame = MigrantFrame.read(this.in);
+            this.globalBestFitness = frame.getBestFitness();
+            return frame.getMigrants();
+        } catch (IOException e) {
+            System.err.println("Lost the coordinator (" + e.getMessage()
+                    + ") -> Continuing without migrations between nodes.");
+            close();
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * A getter method that returns whether this node is still connected to the coordinator
+     *
+     * @return true if it's connected
+     */
+    public boolean isConnected() {
+        return this.connected;
+    }
+
+    /**
+     * A getter method that returns the number given to this node by the coordinator
+     *
+     * @return the number of the node
+     */
+    public int getNode() {
+        return this.node;
+    }
+
+    /**
+     * A getter method that returns the best fitness value of every node, as of the last migration
+     *
+     * @return the best fitness value
+     */
+    public synchronized double getGlobalBestFitness() {
+        return this.globalBestFitness;
+    }
+
+    @Override
+    public void close() {
+        this.connected = false;
+
+        try {
+            this.socket.close();
+        } catch (IOException e) {
+            // already closed
+        }
+    }
+}
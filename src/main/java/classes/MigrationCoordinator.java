@@ -0,0 +1,261 @@
+package classes;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Class that coordinates the migrations of a session spread over many nodes (JVMs), each one running its own
+ * islands and Mario servers. Nodes connect over TCP and, on each of their migration generations, send their fittest
+ * chromosomes and get back the last chromosomes sent by another node, chosen by the migration topology:
+ * <ul>
+ * <li><i>RING</i>, the node connected before it, the last node for the first one;</li>
+ * <li><i>RANDOM</i>, any other node.</li>
+ * </ul>
+ * The coordinator never waits for a node: a slow node just sends its chromosomes less often, and a node which
+ * disconnects leaves the ring while the others carry on. The coordinator also keeps the best chromosome of every node.
+ */
+public class MigrationCoordinator implements AutoCloseable {
+
+    private final ServerSocket server;
+    private final String level;
+    private final String topology;
+    private final SplittableRandom random;
+    private final Thread acceptor;
+
+    // last chromosomes sent by each connected node, by number of node
+    private final TreeMap<Integer, List<Chromosome>> latest = new TreeMap<>();
+    // last chromosomes given to each node, so the same chromosomes aren't given twice
+    private final Map<Integer, List<Chromosome>> delivered = new HashMap<>();
+    private final List<Socket> sockets = new ArrayList<>();
+    private int nextNode = 0;
+    private volatile boolean closing = false;
+
+    private Chromosome bestFit;
+    private int bestNode = -1;
+
+    /**
+     * This method creates a new instance of the <i>MigrationCoordinator class</i> and starts accepting nodes.
+     *
+     * @param port     the port to listen on, 0 for any free port.
+     * @param level    the level played by the session, nodes playing another level are refused.
+     * @param topology the migration topology, <i>RING</i> or <i>RANDOM</i>.
+     * @param seed     the seed of the random choices of the <i>RANDOM</i> topology.
+     * @throws IOException if the port couldn't be opened.
+     */
+    public MigrationCoordinator(int port, String level, String topology, long seed) throws IOException {
+        this.server = new ServerSocket(port);
+        this.level = level;
+        this.topology = topology;
+        this.random = new SplittableRandom(seed);
+
+        this.acceptor = new Thread(this::accept, "migration-coordinator");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    /**
+     * Accepts nodes until the coordinator is closed, each one served by a thread of its own.
+     */
+    private void accept() {
+        while (!this.closing) {
+            try {
+                Socket socket = this.server.accept();
+                socket.setTcpNoDelay(true);
+
+                synchronized (this) {
+                    this.sockets.add(socket);
+                }
+
+                Thread thread = new Thread(() -> serve(socket), "migration-node");
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (!this.closing) {
+                    System.err.println("Something went wrong accepting a node: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Answers the migrations of a node until it disconnects.
+     */
+    private void serve(Socket socket) {
+        int node = -1;
+
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            if (in.readByte() != MigrantFrame.HELLO) {
+                throw new IOException("Unknown handshake.");
+            }
+
+            String nodeLevel = in.readUTF();
+            if (!nodeLevel.equals(this.level)) {
+                out.writeByte(MigrantFrame.REFUSED);
+                out.writeUTF("The coordinator plays " + this.level + ", not " + nodeLevel + ".");
+                out.flush();
+                return;
+            }
+
+            node = join();
+            out.writeByte(MigrantFrame.WELCOME);
+            out.writeInt(node);
+            out.flush();
+            System.out.println("Node " + node + " joined from " + socket.getRemoteSocketAddress() + " -> "
+                    + getNodes() + " nodes.");
+
+            while (!this.closing) {
+                if (in.readByte() != MigrantFrame.MIGRANTS) {
+                    throw new IOException("Unknown message.");
+                }
+
+                MigrantFrame frame = MigrantFrame.read(in);
+                List<Chromosome> immigrants = exchange(node, frame.getMigrants());
+                new MigrantFrame(frame.getNumGen(), getBestFitness(), immigrants).write(out);
+            }
+        } catch (IOException e) {
+            // the node disconnected, or the coordinator is closing
+        } finally {
+            if (node >= 0) {
+                leave(node);
+                if (!this.closing) {
+                    System.out.println("Node " + node + " left -> " + getNodes() + " nodes.");
+                }
+            }
+
+            synchronized (this) {
+                this.sockets.remove(socket);
+            }
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // already closed
+            }
+        }
+    }
+
+    private synchronized int join() {
+        int node = this.nextNode++;
+        this.latest.put(node, Collections.<Chromosome>emptyList());
+        return node;
+    }
+
+    private synchronized void leave(int node) {
+        this.latest.remove(node);
+        this.delivered.remove(node);
+    }
+
+    /**
+     * Stores the chromosomes sent by a node and returns the chromosomes it receives.
+     */
+    private synchronized List<Chromosome> exchange(int node, List<Chromosome> emigrants) {
+        this.latest.put(node, emigrants);
+
+        for (Chromosome tmp : emigrants) {
+            if (this.bestFit == null || this.bestFit.getFitnessValue() < tmp.getFitnessValue()) {
+                this.bestFit = tmp;
+                this.bestNode = node;
+            }
+        }
+
+        if (this.latest.size() < 2) {
+            return Collections.emptyList();
+        }
+
+        Integer source;
+        if (this.topology.equals("RANDOM")) {
+            List<Integer> others = new ArrayList<>(this.latest.keySet());
+            others.remove(Integer.valueOf(node));
+            source = others.get(this.random.nextInt(others.size()));
+        } else {
+            source = this.latest.lowerKey(node);
+            source = source == null ? this.latest.lastKey() : source;
+        }
+
+        List<Chromosome> immigrants = this.latest.get(source);
+        if (immigrants == this.delivered.get(node)) {
+            return Collections.emptyList();
+        }
+        this.delivered.put(node, immigrants);
+        return immigrants;
+    }
+
+    /**
+     * A getter method that returns the best chromosome sent by any node
+     *
+     * @return the best chromosome, or null if no node sent chromosomes
+     */
+    public synchronized Chromosome getBestFit() {
+        return this.bestFit;
+    }
+
+    /**
+     * A getter method that returns the node which sent the best chromosome
+     *
+     * @return the number of the node, or -1 if no node sent chromosomes
+     */
+    public synchronized int getBestNode() {
+        return this.bestNode;
+    }
+
+    private synchronized double getBestFitness() {
+        return this.bestFit == null ? 0 : this.bestFit.getFitnessValue();
+    }
+
+    /**
+     * A getter method that returns the number of connected nodes
+     *
+     * @return the number of nodes
+     */
+    public synchronized int getNodes() {
+        return this.latest.size();
+    }
+
+    /**
+     * A getter method that returns the port the coordinator listens on
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return this.server.getLocalPort();
+    }
+
+    /**
+     * This method stops accepting nodes and disconnects every node.
+     */
+    @Override
+    public void close() {
+        this.closing = true;
+
+        try {
+            this.server.close();
+        } catch (IOException e) {
+            // already closed
+        }
+
+        synchronized (this) {
+            for (Socket socket : this.sockets) {
+                try {
+                    socket.close();
+                } catch (IOException e) {
+                    // already closed
+                }
+            }
+            this.sockets.clear();
+        }
+    }
+}
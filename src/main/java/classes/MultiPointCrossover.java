@@ -0,0 +1,66 @@
+package classes;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Class that cuts both parents at <i>k</i> random points and alternates their segments. The points are drawn inside
+ * an interval of the parents (eg: 0.25-0.75 -> first quarter until last quarter), at the same relative block of
+ * each parent. This class keeps its buffers between calls, so an instance must not be shared between threads.
+ */
+public class MultiPointCrossover implements CrossoverOperator {
+
+    private final double min;
+    private final double max;
+    private final double[] points;
+    private final int[] cuts1;
+    private final int[] cuts2;
+
+    /**
+     * This method creates a new instance of the <i>MultiPointCrossover class</i>.
+     *
+     * @param min    the start of the interval where the points are drawn, between 0.00 and 1.00.
+     * @param max    the end of the interval where the points are drawn, between 0.00 and 1.00.
+     * @param points the number of points.
+     */
+    public MultiPointCrossover(double min, double max, int points) {
+        this.min = min;
+        this.max = max;
+        this.points = new double[Math.max(1, points)];
+        this.cuts1 = new int[this.points.length + 2];
+        this.cuts2 = new int[this.points.length + 2];
+    }
+
+    @Override
+    public void cross(Genome parent1, Genome parent2, Genome.Builder child1, Genome.Builder child2, SplittableRandom random) {
+        for (int i = 0; i < this.points.length; i++) {
+            this.points[i] = this.min + random.nextDouble() * (this.max - this.min);
+        }
+        Arrays.sort(this.points);
+
+        cuts(parent1.blockCount(), this.cuts1);
+        cuts(parent2.blockCount(), this.cuts2);
+
+        // even segments stay, odd segments are swapped
+        for (int segment = 0; segment <= this.points.length; segment++) {
+            Genome source1 = segment % 2 == 0 ? parent1 : parent2;
+            Genome source2 = segment % 2 == 0 ? parent2 : parent1;
+            int[] sourceCuts1 = segment % 2 == 0 ? this.cuts1 : this.cuts2;
+            int[] sourceCuts2 = segment % 2 == 0 ? this.cuts2 : this.cuts1;
+
+            child1.addBlocks(source1, sourceCuts1[segment], sourceCuts1[segment + 1]);
+            child2.addBlocks(source2, sourceCuts2[segment], sourceCuts2[segment + 1]);
+        }
+    }
+
+    /**
+     * Converts the points to block positions of a parent, surrounded by its first and last position.
+     */
+    private void cuts(int blocks, int[] cuts) {
+        cuts[0] = 0;
+        for (int i = 0; i < this.points.length; i++) {
+            cuts[i + 1] = (int) Math.round(blocks * this.points[i]);
+        }
+        cuts[cuts.length - 1] = blocks;
+    }
+}
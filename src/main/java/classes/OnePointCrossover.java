@@ -0,0 +1,36 @@
+package classes;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class that cuts both parents at the same relative block and swaps their tails
+ */
+public class OnePointCrossover implements CrossoverOperator {
+
+    private final double rate;
+
+    /**
+     * This method creates a new instance of the <i>OnePointCrossover class</i>.
+     *
+     * @param rate the point where to cut the parents, between 0.00 and 1.00 (0.50 -> middle).
+     */
+    public OnePointCrossover(double rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void cross(Genome parent1, Genome parent2, Genome.Builder child1, Genome.Builder child2, SplittableRandom random) {
+        int pos1 = cut(parent1.blockCount());
+        int pos2 = cut(parent2.blockCount());
+
+        child1.addBlocks(parent1, 0, pos1).addBlocks(parent2, pos2, parent2.blockCount());
+        child2.addBlocks(parent2, 0, pos2).addBlocks(parent1, pos1, parent1.blockCount());
+    }
+
+    /**
+     * Finds the crossover position, keeping at least one block of the parent before it.
+     */
+    private int cut(int blocks) {
+        return Math.min(blocks, Math.max(1, (int) Math.round(blocks * this.rate)));
+    }
+}
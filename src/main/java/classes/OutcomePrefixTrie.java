@@ -0,0 +1,220 @@
+package classes;
+
+import luigi.RunResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class that indexes, per level, the inputs that led to a death or a win. A run only depends on the commands
+ * played until it finishes, so any inputs starting with the same commands finish the same way and their
+ * <i>RunResult</i> can be predicted without playing them.
+ * <p>
+ * The trie is built over runs of the same button, each edge being a (button, duration) pair, and each node keeps
+ * the finishing points that fall inside the next run.
+ */
+public class OutcomePrefixTrie {
+
+    private final int maxNodes;
+    private final HashMap<String, Node> levels = new HashMap<>();
+    private int nodes = 0;
+
+    private final AtomicLong predictions = new AtomicLong();
+
+    /**
+     * This method creates a new instance of the <i>OutcomePrefixTrie class</i>.
+     *
+     * @param maxNodes the maximum number of nodes of the trie, 0 disables it.
+     */
+    public OutcomePrefixTrie(int maxNodes) {
+        this.maxNodes = Math.max(0, maxNodes);
+    }
+
+    /**
+     * This method records where a run finished, if it finished by death or win.
+     *
+     * @param level  the level played.
+     * @param inputs the inputs played.
+     * @param result the result of the run.
+     */
+    public synchronized void record(String level, Genome inputs, RunResult result) {
+        if (this.maxNodes == 0 || result.getReason_finish() == null) {
+            return;
+        }
+        if (!result.getReason_finish().equals("death") && !result.getReason_finish().equals("win")) {
+            return;
+        }
+
+        int used = result.getCommands_used();
+        if (used <= 0 || used > inputs.length()) {
+            return;
+        }
+
+        Node node = this.levels.get(level);
+        if (node == null) {
+            node = new Node();
+            this.levels.put(level, node);
+            this.nodes++;
+        }
+
+        int block = 0;
+        int start = 0;
+        while (true) {
+            int button = inputs.button(block);
+            int runEnd = runEnd(inputs, block);
+            int end = start + runDuration(inputs, block, runEnd);
+
+            // the run where the level finished
+            if (end >= used) {
+                node.addFinish(button, used - start, result);
+                return;
+            }
+
+            Node next = node.children.get(edge(button, end - start));
+            if (next == null) {
+                if (this.nodes >= this.maxNodes) {
+                    return;
+                }
+                next = new Node();
+                node.children.put(edge(button, end - start), next);
+                this.nodes++;
+            }
+
+            node = next;
+            block = runEnd;
+            start = end;
+        }
+    }
+
+    /**
+     * This method predicts the result of playing some inputs.
+     *
+     * @param level  the level to be played.
+     * @param inputs the inputs to be played.
+     * @return the predicted result, or null if these inputs never reach a known death or win.
+     */
+    public synchronized RunResult predict(String level, Genome inputs) {
+        Node node = this.levels.get(level);
+        int block = 0;
+
+        while (node != null && block < inputs.blockCount()) {
+            int button = inputs.button(block);
+            int runEnd = runEnd(inputs, block);
+            int duration = runDuration(inputs, block, runEnd);
+
+            RunResult finish = node.findFinish(button, duration);
+            if (finish != null) {
+                this.predictions.incrementAndGet();
+                return finish;
+            }
+
+            node = node.children.get(edge(button, duration));
+            block = runEnd;
+        }
+        return null;
+    }
+
+    /**
+     * Finds where a run of the same button ends, since a long run is stored in two blocks.
+     *
+     * @param inputs the inputs.
+     * @param start  the first block of the run.
+     * @return the block after the last block of the run.
+     */
+    private static int runEnd(Genome inputs, int start) {
+        int end = start + 1;
+
+        while (end < inputs.blockCount() && inputs.button(end) == inputs.button(start)) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Sums the duration of the blocks of a run.
+     */
+    private static int runDuration(Genome inputs, int start, int end) {
+        int duration = 0;
+
+        for (int block = start; block < end; block++) {
+            duration += inputs.duration(block);
+        }
+        return duration;
+    }
+
+    /**
+     * Encodes a run as the key of an edge.
+     */
+    private static long edge(int button, int duration) {
+        return ((long) button << 32) | duration;
+    }
+
+    public long getPredictions() {
+        return this.predictions.get();
+    }
+
+    public synchronized int getNodes() {
+        return this.nodes;
+    }
+
+    @Override
+    public String toString() {
+        return "Prefix trie - nodes: " + getNodes() + ", predicted runs: " + getPredictions();
+    }
+
+    /**
+     * A node of the trie
+     */
+    private static final class Node {
+        private final HashMap<Long, Node> children = new HashMap<>(4);
+        private List<Finish> finishes = null;
+
+        private void addFinish(int button, int duration, RunResult result) {
+            if (this.finishes == null) {
+                this.finishes = new ArrayList<>(1);
+            }
+
+            for (Finish tmp : this.finishes) {
+                if (tmp.button == button && tmp.duration == duration) {
+                    return;
+                }
+            }
+            this.finishes.add(new Finish(button, duration, result));
+        }
+
+        /**
+         * Finds the earliest finish reached by a run of the button with the given duration.
+         */
+        private RunResult findFinish(int button, int duration) {
+            if (this.finishes == null) {
+                return null;
+            }
+
+            Finish earliest = null;
+            for (Finish tmp : this.finishes) {
+                if (tmp.button == button && tmp.duration <= duration
+                        && (earliest == null || tmp.duration < earliest.duration)) {
+                    earliest = tmp;
+                }
+            }
+            return earliest == null ? null : earliest.result;
+        }
+    }
+
+    /**
+     * A death or win happening after pressing a button for some duration
+     */
+    private static final class Finish {
+        private final int button;
+        private final int duration;
+        private final RunResult result;
+
+        private Finish(int button, int duration, RunResult result) {
+            this.button = button;
+            this.duration = duration;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package classes;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class that hands out the random number generators of a session. Every stream is derived from the session seed,
+ * the generation and the phase it's used for, so a session started with the same seed makes exactly the same
+ * choices, and any generation can be replayed without replaying the ones before it.
+ * <p>
+ * A <i>SplittableRandom</i> isn't thread safe, each thread must use its own stream, either asking for one or
+ * calling <i>split()</i> on the stream of the thread that hands it the work.
+ */
+public class RandomService {
+
+    private final long seed;
+
+    /**
+     * This method creates a new instance of the <i>RandomService class</i>.
+     *
+     * @param seed the seed of the session.
+     */
+    public RandomService(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * This method reads a seed, a missing or <i>RANDOM</i> seed picks a new one.
+     *
+     * @param value the written seed.
+     * @return the seed.
+     * @throws NumberFormatException if the value isn't a number.
+     */
+    public static long parseSeed(String value) {
+        if (value == null || value.trim().isEmpty() || value.trim().equalsIgnoreCase("RANDOM")) {
+            return mix(System.nanoTime() ^ System.currentTimeMillis());
+        }
+        return Long.parseLong(value.trim());
+    }
+
+    /**
+     * This method creates the stream of a phase of a generation.
+     *
+     * @param generation the number of the generation.
+     * @param phase      the phase using the stream.
+     * @return a new generator, always the same for the same seed, generation and phase.
+     */
+    public SplittableRandom stream(int generation, int phase) {
+        return new SplittableRandom(mix(this.seed + mix(((long) generation << 16) + phase)));
+    }
+
+    /**
+     * A getter method that returns the seed of the session
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Scrambles a value, so that close keys (eg: two consecutive generations) give unrelated seeds.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
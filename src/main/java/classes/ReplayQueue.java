@@ -0,0 +1,159 @@
+package classes;
+
+import luigi.Request;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class that replays the best chromosome of the session, rendered, on a thread of its own, so the generations don't
+ * wait for a rendered run to be watched. Only a best chromosome different from the last one offered is replayed, and
+ * the queue is bounded: when the servers can't keep up, the oldest replays are dropped, and of the replays waiting
+ * only the newest one is played.
+ * <p>
+ * The replays can be sent to servers of their own, apart from the servers evaluating the chromosomes.
+ */
+public class ReplayQueue implements AutoCloseable {
+
+    private final MarioServerPool pool;
+    private final String level;
+    private final ArrayBlockingQueue<Request> queue;
+    private final Thread thread;
+    private volatile boolean closing = false;
+
+    // the last chromosome offered, and the inputs it had
+    private Chromosome last;
+    private Genome lastInputs;
+
+    private final AtomicLong played = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+
+    /**
+     * This method creates a new instance of the <i>ReplayQueue class</i> and starts its thread.
+     *
+     * @param pool     the servers the replays are sent to.
+     * @param level    the level to be replayed.
+     * @param capacity the maximum number of replays waiting, the oldest ones being dropped.
+     */
+    public ReplayQueue(MarioServerPool pool, String level, int capacity) {
+        this.pool = pool;
+        this.level = level;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+
+        this.thread = new Thread(this::run, "best-fit-replay");
+        this.thread.setDaemon(true);
+        this.thread.start();
+
+        SessionMetrics metrics = SessionMetrics.getDefault();
+        metrics.gauge("replays_played", "Best chromosomes replayed", this.played::get);
+        metrics.gauge("replays_dropped", "Best chromosomes not replayed, a newer one took their place",
+                this.dropped::get);
+    }
+
+    /**
+     * This method queues the replay of the best chromosome, unless it's the chromosome already offered. It never
+     * waits for the servers.
+     *
+     * @param bestFit the best chromosome of the session.
+     * @return true if the replay was queued.
+     */
+    public synchronized boolean offer(Chromosome bestFit) {
+        if (bestFit == null || this.closing) {
+            return false;
+        }
+
+        // the inputs of the chromosome may be adjusted in the next generations, the replay keeps the ones it has now
+        if (bestFit == this.last && bestFit.getInputs().equals(this.lastInputs)) {
+            this.unchanged.incrementAndGet();
+            return false;
+        }
+        this.last = bestFit;
+        this.lastInputs = bestFit.getInputs();
+
+        Request replay = new Request(bestFit.getInputs().toRequestArray(), this.level, "true");
+
+        while (!this.queue.offer(replay)) {
+            if (this.queue.poll() != null) {
+                this.dropped.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Plays the newest replay waiting, dropping the older ones, until the queue is closed and empty.
+     */
+    private void run() {
+        List<Request> waiting = new ArrayList<>();
+
+        while (!this.closing || !this.queue.isEmpty()) {
+            try {
+                Request first = this.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                waiting.add(first);
+                this.queue.drainTo(waiting);
+            } catch (InterruptedException e) {
+                // only close() stops the replays
+                continue;
+            }
+
+            Request newest = waiting.get(waiting.size() - 1);
+            this.dropped.addAndGet(waiting.size() - 1);
+            waiting.clear();
+
+            this.pool.play(newest);
+            this.played.incrementAndGet();
+        }
+    }
+
+    /**
+     * This method plays the replay still waiting and stops the thread.
+     */
+    @Override
+    public void close() {
+        this.closing = true;
+
+        try {
+            this.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A getter method that returns the number of replays played
+     *
+     * @return the number of replays played
+     */
+    public long getPlayed() {
+        return this.played.get();
+    }
+
+    /**
+     * A getter method that returns the number of replays dropped, because a newer replay took their place
+     *
+     * @return the number of replays dropped
+     */
+    public long getDropped() {
+        return this.dropped.get();
+    }
+
+    @Override
+    public String toString() {
+        return "Replays: " + this.played.get() + " played, " + this.dropped.get() + " dropped, "
+                + this.unchanged.get() + " without a new best chromosome";
+    }
+}
+
+enum REPLAY_MODES {
+    ASYNC,
+    INLINE,
+    NONE
+}
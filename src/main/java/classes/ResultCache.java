@@ -0,0 +1,145 @@
+package classes;
+
+import luigi.RunResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class that remembers the <i>RunResult</i> of the inputs already played on a level, since the levels are
+ * deterministic. The least recently used results are evicted once the cache is full.
+ */
+public class ResultCache {
+
+    private final int maxEntries;
+    private final LinkedHashMap<Key, RunResult> results;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * This method creates a new instance of the <i>ResultCache class</i>.
+     *
+     * @param maxEntries the maximum number of results stored, 0 disables the cache.
+     */
+    public ResultCache(final int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+        this.results = new LinkedHashMap<Key, RunResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, RunResult> eldest) {
+                return size() > ResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * This method returns the stored result of a run.
+     *
+     * @param level  the level played.
+     * @param inputs the inputs played.
+     * @return the result of the run, or null if it was never played.
+     */
+    public RunResult get(String level, Genome inputs) {
+        if (this.maxEntries == 0) {
+            return null;
+        }
+
+        RunResult result;
+        synchronized (this.results) {
+            result = this.results.get(new Key(level, inputs));
+        }
+
+        if (result == null) {
+            this.misses.incrementAndGet();
+        } else {
+            this.hits.incrementAndGet();
+        }
+        return result;
+    }
+
+    /**
+     * This method stores the result of a run. Runs which finished by death or win are also stored for the inputs
+     * actually used, since any inputs sharing that prefix finish the same way.
+     *
+     * @param level  the level played.
+     * @param inputs the inputs played.
+     * @param result the result of the run.
+     */
+    public void put(String level, Genome inputs, RunResult result) {
+        if (this.maxEntries == 0 || result.getReason_finish() == null) {
+            return;
+        }
+
+        synchronized (this.results) {
+            this.results.put(new Key(level, inputs), result);
+
+            boolean finished = result.getReason_finish().equals("death") || result.getReason_finish().equals("win");
+            if (finished && result.getCommands_used() < inputs.length()) {
+                this.results.put(new Key(level, inputs.prefix(result.getCommands_used())), result);
+            }
+        }
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * This method returns the fraction of lookups answered by the cache.
+     *
+     * @return the hit rate between 0 and 1.
+     */
+    public double getHitRate() {
+        long total = this.hits.get() + this.misses.get();
+        return total == 0 ? 0 : (double) this.hits.get() / total;
+    }
+
+    public int size() {
+        synchronized (this.results) {
+            return this.results.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Cache - entries: " + size() + ", hits: " + getHits() + ", misses: " + getMisses()
+                + ", hit rate: " + String.format("%.2f", getHitRate());
+    }
+
+    /**
+     * Key of a cached result, the level and the content of the inputs
+     */
+    private static final class Key {
+        private final String level;
+        private final Genome inputs;
+        private final int hash;
+
+        private Key(String level, Genome inputs) {
+            this.level = level;
+            this.inputs = inputs;
+            this.hash = 31 * level.hashCode() + inputs.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return this.hash == key.hash && this.level.equals(key.level) && this.inputs.equals(key.inputs);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package classes;
+
+import java.util.List;
+
+/**
+ * Class that represents the roulette wheel of the fitness proportionate selection. The wheel is built once per
+ * generation as the cumulative fitness of the chromosomes, and each spin is a binary search on it.
+ */
+public class RouletteWheel {
+
+    private final double[] cumulative;
+    private final double totalFitness;
+
+    /**
+     * This method creates a new instance of the <i>RouletteWheel class</i>.
+     *
+     * @param chromosomes the chromosomes of the generation.
+     */
+    public RouletteWheel(List<Chromosome> chromosomes) {
+        this.cumulative = new double[chromosomes.size()];
+
+        double total = 0.0;
+        for (int i = 0; i < chromosomes.size(); i++) {
+            double fitnessValue = chromosomes.get(i).getFitnessValue();
+
+            // negative or invalid fitness never gets selected
+            if (fitnessValue > 0 && !Double.isInfinite(fitnessValue)) {
+                total += fitnessValue;
+            }
+            this.cumulative[i] = total;
+        }
+        this.totalFitness = total;
+    }
+
+    /**
+     * This method spins the wheel.
+     *
+     * @param rand a random number between 0 and 1.
+     * @return the position of the selected chromosome.
+     */
+    public int spin(double rand) {
+        int size = this.cumulative.length;
+
+        // without any fitness every chromosome has the same chance
+        if (!(this.totalFitness > 0)) {
+            return Math.min((int) (rand * size), size - 1);
+        }
+
+        double target = rand * this.totalFitness;
+        int low = 0;
+        int high = size - 1;
+
+        // first position whose cumulative fitness is above the target
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (this.cumulative[mid] > target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * This method spins the wheel once with <i>count</i> evenly spaced pointers (stochastic universal sampling),
+     * walking the wheel a single time.
+     *
+     * @param count the number of pointers.
+     * @param rand  a random number between 0 and 1 setting the position of the first pointer.
+     * @return the positions of the selected chromosomes, in wheel order.
+     */
+    public int[] sample(int count, double rand) {
+        int size = this.cumulative.length;
+        int[] selected = new int[count];
+
+        // without any fitness every chromosome has the same chance
+        if (!(this.totalFitness > 0)) {
+            for (int i = 0; i < count; i++) {
+                selected[i] = Math.min((int) ((i + rand) * size / count), size - 1);
+            }
+            return selected;
+        }
+
+        double step = this.totalFitness / count;
+        double pointer = rand * step;
+        int pos = 0;
+
+        for (int i = 0; i < count; i++, pointer += step) {
+            while (pos < size - 1 && this.cumulative[pos] <= pointer) {
+                pos++;
+            }
+            selected[i] = pos;
+        }
+        return selected;
+    }
+
+    /**
+     * A getter method that returns the total fitness of the generation
+     *
+     * @return the total fitness
+     */
+    public double getTotalFitness() {
+        return this.totalFitness;
+    }
+}
@@ -0,0 +1,20 @@
+package classes;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class that swaps a random segment of commands between the parents. The segment is cut at the same command of
+ * both parents, so every command swapped is still played at the same moment of the level.
+ */
+public class SegmentCrossover implements CrossoverOperator {
+
+    @Override
+    public void cross(Genome parent1, Genome parent2, Genome.Builder child1, Genome.Builder child2, SplittableRandom random) {
+        int length = Math.min(parent1.length(), parent2.length());
+        int start = length == 0 ? 0 : random.nextInt(length);
+        int end = start + (length == 0 ? 0 : random.nextInt(length - start) + 1);
+
+        child1.add(parent1, 0, start).add(parent2, start, end).add(parent1, end, parent1.length());
+        child2.add(parent2, 0, start).add(parent1, start, end).add(parent2, end, parent2.length());
+    }
+}
@@ -0,0 +1,28 @@
+package classes;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Interface that represents the way parents are selected from a generation to breed the next one
+ */
+public interface Selection {
+
+    /**
+     * This method prepares the selection over a generation. It's called once per generation, before any parent is
+     * selected.
+     *
+     * @param generation the chromosomes of the generation.
+     * @param picks      the number of parents expected to be selected.
+     * @param random     the random number generator.
+     */
+    void prepare(List<Chromosome> generation, int picks, SplittableRandom random);
+
+    /**
+     * This method selects a parent.
+     *
+     * @param random the random number generator.
+     * @return the selected chromosome.
+     */
+    Chromosome select(SplittableRandom random);
+}
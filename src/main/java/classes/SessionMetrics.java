@@ -0,0 +1,361 @@
+package classes;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Class that keeps the metrics of a session: how long the Mario requests and each phase of a generation take, and
+ * gauges read when the metrics are written (eg: the cache hit rate). The metrics can be written to a file every few
+ * seconds, in the Prometheus text format or as JSON, for a local scraper to read.
+ * <p>
+ * Every part of the session records into the same metrics, so the metrics of many islands are added together.
+ */
+public final class SessionMetrics {
+
+    private static final String PREFIX = "mario_ga_";
+
+    private static volatile SessionMetrics instance;
+
+    private final Timer marioRequests = new Timer("mario_request_seconds",
+            "Time of a request to a Mario server (goMarioGo)");
+    private final Timer evaluation = new Timer("evaluation_seconds",
+            "Time to evaluate the chromosomes of a generation");
+    private final Timer calculateFitness = new Timer("calculate_fitness_seconds",
+            "Time of calculateFitness for a generation");
+    private final Timer breedNewGen = new Timer("breed_new_gen_seconds",
+            "Time of breedNewGen for a generation, dumpGenToFile included");
+    private final Timer dumpGenToFile = new Timer("dump_gen_to_file_seconds",
+            "Time of dumpGenToFile for a generation, waiting for the log writer included");
+
+    // gauges by name, with their help
+    private final Map<String, DoubleSupplier> gauges = new LinkedHashMap<>();
+    private final Map<String, String> gaugeHelps = new LinkedHashMap<>();
+
+    private ScheduledExecutorService exporter;
+    private Path file;
+    private boolean json;
+
+    private SessionMetrics() {
+    }
+
+    /**
+     * This method returns the metrics of the session.
+     *
+     * @return the metrics.
+     */
+    public static SessionMetrics getDefault() {
+        SessionMetrics result = instance;
+
+        if (result == null) {
+            synchronized (SessionMetrics.class) {
+                result = instance;
+                if (result == null) {
+                    instance = result = new SessionMetrics();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This method adds a gauge, read each time the metrics are written. A gauge with the same name is replaced.
+     *
+     * @param name  the name of the gauge, in snake case.
+     * @param help  what the gauge measures.
+     * @param value the current value of the gauge.
+     */
+    public synchronized void gauge(String name, String help, DoubleSupplier value) {
+        this.gauges.put(name, value);
+        this.gaugeHelps.put(name, help);
+    }
+
+    /**
+     * This method starts writing the metrics to the file of the configuration, if it has one.
+     *
+     * @param config the configuration with the metrics file, format and interval.
+     */
+    public synchronized void startExport(GaConfig config) {
+        if (config.getMetricsFile().equals("NoMetrics") || this.exporter != null) {
+            return;
+        }
+
+        this.file = Paths.get(config.getMetricsFile()).toAbsolutePath();
+        this.json = config.getMetricsFormat().equals("JSON");
+        this.exporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.exporter.scheduleAtFixedRate(this::export, config.getMetricsIntervalMillis(),
+                config.getMetricsIntervalMillis(), TimeUnit.MILLISECONDS);
+        System.out.println("Writing the metrics to " + this.file + " every " + config.getMetricsIntervalMillis()
+                + " ms.");
+    }
+
+    /**
+     * Writes the metrics to a temporary file, then puts it in the place of the metrics file, so a scraper never
+     * reads a half written file.
+     */
+    private synchronized void export() {
+        if (this.file == null) {
+            return;
+        }
+
+        Path tmp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        try {
+            if (this.file.getParent() != null) {
+                Files.createDirectories(this.file.getParent());
+            }
+            try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                out.write(this.json ? toJson() : toPrometheus());
+            }
+
+            try {
+                Files.move(tmp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException a) {
+                Files.move(tmp, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.err.println("Something went wrong writing the metrics to " + this.file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method writes the metrics one last time and stops writing them.
+     */
+    public synchronized void close() {
+        if (this.exporter != null) {
+            this.exporter.shutdownNow();
+            this.exporter = null;
+            export();
+            this.file = null;
+        }
+    }
+
+    /**
+     * This method writes the metrics in the Prometheus text format, the timers as summaries.
+     *
+     * @return the metrics.
+     */
+    public synchronized String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+
+        for (Timer timer : timers()) {
+            String name = PREFIX + timer.name;
+            out.append("# HELP ").append(name).append(' ').append(timer.help).append('\n');
+            out.append("# TYPE ").append(name).append(" summary\n");
+            out.append(name).append("{quantile=\"0.5\"} ").append(format(timer.quantile(0.5))).append('\n');
+            out.append(name).append("{quantile=\"0.99\"} ").append(format(timer.quantile(0.99))).append('\n');
+            out.append(name).append("_sum ").append(format(timer.getSumSeconds())).append('\n');
+            out.append(name).append("_count ").append(timer.getCount()).append('\n');
+        }
+
+        for (Map.Entry<String, DoubleSupplier> gauge : this.gauges.entrySet()) {
+            String name = PREFIX + gauge.getKey();
+            out.append("# HELP ").append(name).append(' ').append(this.gaugeHelps.get(gauge.getKey())).append('\n');
+            out.append("# TYPE ").append(name).append(" gauge\n");
+            out.append(name).append(' ').append(format(gauge.getValue().getAsDouble())).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * This method writes the metrics as JSON, the times in seconds.
+     *
+     * @return the metrics.
+     */
+    public synchronized String toJson() {
+        StringBuilder out = new StringBuilder("{\n  \"timestamp\": ").append(System.currentTimeMillis());
+
+        out.append(",\n  \"timers\": {");
+        Timer[] timers = timers();
+        for (int i = 0; i < timers.length; i++) {
+            Timer timer = timers[i];
+            out.append(i == 0 ? "\n" : ",\n").append("    \"").append(timer.name).append("\": {")
+                    .append("\"count\": ").append(timer.getCount())
+                    .append(", \"sum\": ").append(format(timer.getSumSeconds()))
+                    .append(", \"p50\": ").append(format(timer.quantile(0.5)))
+                    .append(", \"p99\": ").append(format(timer.quantile(0.99)))
+                    .append(", \"max\": ").append(format(timer.getMaxSeconds())).append('}');
+        }
+
+        out.append("\n  },\n  \"gauges\": {");
+        boolean first = true;
+        for (Map.Entry<String, DoubleSupplier> gauge : this.gauges.entrySet()) {
+            out.append(first ? "\n" : ",\n").append("    \"").append(gauge.getKey()).append("\": ")
+                    .append(format(gauge.getValue().getAsDouble()));
+            first = false;
+        }
+        return out.append("\n  }\n}\n").toString();
+    }
+
+    private Timer[] timers() {
+        return new Timer[]{this.marioRequests, this.evaluation, this.calculateFitness, this.breedNewGen,
+                this.dumpGenToFile};
+    }
+
+    private static String format(double value) {
+        // NaN isn't valid JSON, and a gauge without a value yet is 0
+        return Double.isNaN(value) || Double.isInfinite(value) ? "0" : String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    /**
+     * A getter method that returns the timer of the requests to the Mario servers
+     *
+     * @return the timer
+     */
+    public Timer getMarioRequests() {
+        return this.marioRequests;
+    }
+
+    /**
+     * A getter method that returns the timer of the evaluation of a generation
+     *
+     * @return the timer
+     */
+    public Timer getEvaluation() {
+        return this.evaluation;
+    }
+
+    public Timer getCalculateFitness() {
+        return this.calculateFitness;
+    }
+
+    public Timer getBreedNewGen() {
+        return this.breedNewGen;
+    }
+
+    public Timer getDumpGenToFile() {
+        return this.dumpGenToFile;
+    }
+
+    /**
+     * Class that represents the durations of an operation, counted in buckets growing by an eighth of a power of
+     * two, so the percentiles are found within about 6% with a fixed amount of memory. Recording a duration takes
+     * no lock.
+     */
+    public static final class Timer {
+
+        // eight buckets for each power of two of microseconds
+        private static final int SUB_BUCKETS = 8;
+        private static final int BUCKETS = SUB_BUCKETS + (63 - 3) * SUB_BUCKETS;
+
+        private final String name;
+        private final String help;
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sumNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        Timer(String name, String help) {
+            this.name = name;
+            this.help = help;
+        }
+
+        /**
+         * This method records a duration.
+         *
+         * @param nanos the duration in nanoseconds.
+         */
+        public void record(long nanos) {
+            nanos = Math.max(0, nanos);
+            this.counts.incrementAndGet(bucket(nanos / 1000));
+            this.count.incrementAndGet();
+            this.sumNanos.addAndGet(nanos);
+
+            long max;
+            while (nanos > (max = this.maxNanos.get()) && !this.maxNanos.compareAndSet(max, nanos)) {
+                // another thread recorded a duration, try again
+            }
+        }
+
+        /**
+         * This method records the duration since a start time.
+         *
+         * @param startNanos the start, from System.nanoTime().
+         */
+        public void recordSince(long startNanos) {
+            record(System.nanoTime() - startNanos);
+        }
+
+        private static int bucket(long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) micros;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            int sub = (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+            return Math.min(BUCKETS - 1, SUB_BUCKETS + (exponent - 3) * SUB_BUCKETS + sub);
+        }
+
+        private static long lowerBound(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + 3;
+            return (long) (SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS) << (exponent - 3);
+        }
+
+        /**
+         * This method estimates a percentile of the durations, as the middle of its bucket.
+         *
+         * @param quantile the percentile, between 0 and 1 (eg: 0.99).
+         * @return the duration in seconds, or 0 if nothing was recorded.
+         */
+        public double quantile(double quantile) {
+            long total = 0;
+            long[] snapshot = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = this.counts.get(i);
+                total += snapshot[i];
+            }
+
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    long upper = i + 1 < BUCKETS ? lowerBound(i + 1) : lowerBound(i);
+                    return Math.min((lowerBound(i) + upper) / 2.0 / 1e6, getMaxSeconds());
+                }
+            }
+            return getMaxSeconds();
+        }
+
+        public long getCount() {
+            return this.count.get();
+        }
+
+        public double getSumSeconds() {
+            return this.sumNanos.get() / 1e9;
+        }
+
+        public double getMaxSeconds() {
+            return this.maxNanos.get() / 1e9;
+        }
+    }
+}
+
+enum METRICS_FORMATS {
+    PROMETHEUS,
+    JSON
+}
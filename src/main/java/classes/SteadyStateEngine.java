@@ -0,0 +1,293 @@
+package classes;
+
+import luigi.RunResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Class that represents the steady-state engine of the genetic algorithm. There is no generation barrier: as soon
+ * as a chromosome is evaluated it joins the population, replacing the least fit chromosome or the loser of a
+ * tournament, and a new child is bred and sent to the evaluator. The evaluator always has a full set of runs in
+ * flight, instead of waiting for the slowest run of each generation.
+ * <p>
+ * The fitness values are normalized as in the generational engine, by the averages of the population, which are
+ * kept up to date as chromosomes join and leave it. Each chromosome is scored with the averages of the moment it
+ * joins; the whole population is scored again each time as many chromosomes as its size were evaluated, which is
+ * also when the population is stored as a generation.
+ * <p>
+ * The order in which the runs finish depends on the servers, so, unlike the generational engine, a seed doesn't
+ * repeat a session.
+ */
+public class SteadyStateEngine {
+
+    private final GeneticAlgorithm ga;
+    private final ChromosomeEvaluator evaluator;
+    private final GaConfig config;
+    private final Termination termination;
+
+    private final int populationSize;
+    private final int maxInFlight;
+    private final boolean replaceWorst;
+    private final int tournamentSize;
+
+    // the evaluated chromosomes, and the sums of their results
+    private final ArrayList<Chromosome> population;
+    private double sumCoins;
+    private double sumSpeed;
+    private double sumScore;
+    private double sumPos;
+
+    private Chromosome bestFit;
+    private long evaluations = 0;
+
+    /**
+     * This method creates a new instance of the <i>SteadyStateEngine class</i>, with a first population to evaluate.
+     *
+     * @param config    the configuration of the genetic algorithm.
+     * @param evaluator the evaluator of the chromosomes.
+     */
+    public SteadyStateEngine(GaConfig config, ChromosomeEvaluator evaluator) {
+        this(config, evaluator, new Termination(config));
+    }
+
+    /**
+     * This method creates a new instance of the <i>SteadyStateEngine class</i>, with a first population to evaluate
+     * and the policies which may stop it before its last generation.
+     *
+     * @param config      the configuration of the genetic algorithm.
+     * @param evaluator   the evaluator of the chromosomes.
+     * @param termination the termination policies of the session.
+     */
+    public SteadyStateEngine(GaConfig config, ChromosomeEvaluator evaluator, Termination termination) {
+        this.config = config;
+        this.evaluator = evaluator;
+        this.termination = termination;
+        this.ga = GeneticAlgorithm.newPopulation(config, String.valueOf(System.currentTimeMillis()));
+
+        this.populationSize = config.getPopulationSize();
+        this.maxInFlight = evaluator.getMaxInFlight();
+        this.replaceWorst = config.getSteadyStateReplacement().equals("WORST");
+        this.tournamentSize = config.getTournamentSize();
+        this.population = new ArrayList<>(this.populationSize);
+    }
+
+    /**
+     * This method evolves the population until as many chromosomes were evaluated as the given generations of the
+     * generational engine would evaluate, or a termination policy is reached. The policies are checked after each
+     * evaluation.
+     *
+     * @param generations the number of generations.
+     */
+    public void run(int generations) {
+        long budget = (long) generations * this.populationSize;
+        BlockingQueue<Chromosome> evaluated = new LinkedBlockingQueue<>();
+
+        // the first population, then children as they are bred
+        Deque<Chromosome> pending = new ArrayDeque<>(this.ga.getCurrGen().getGeneration());
+        int inFlight = 0;
+        long submitted = 0;
+
+        while (this.evaluations < budget) {
+            while (inFlight < this.maxInFlight && submitted < budget) {
+                if (pending.isEmpty()) {
+                    // children need two evaluated parents
+                    if (this.population.size() < 2) {
+                        break;
+                    }
+
+                    Chromosome[] children = this.ga.breedPair(this.population);
+                    pending.add(children[0]);
+                    pending.add(children[1]);
+                }
+
+                final Chromosome child = pending.poll();
+                this.evaluator.evaluateAsync(child).thenAccept(result -> {
+                    child.assertResult(result);
+                    evaluated.add(child);
+                });
+                inFlight++;
+                submitted++;
+            }
+
+            Chromosome tmp;
+            try {
+                tmp = evaluated.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("The steady-state engine was interrupted.");
+                return;
+            }
+
+            inFlight--;
+            this.evaluations++;
+            insert(tmp);
+
+            if (this.evaluations % this.populationSize == 0) {
+                endGeneration();
+            }
+
+            if (this.termination.shouldStop(this.bestFit, this.evaluations, this.ga.getNumGen())) {
+                // the chromosomes evaluated since the last generation stored are stored too
+                if (this.evaluations % this.populationSize != 0) {
+                    endGeneration();
+                }
+                return;
+            }
+        }
+        this.termination.finish(generations);
+    }
+
+    /**
+     * Adds an evaluated chromosome to the population, replacing another one if the population is full.
+     */
+    private void insert(Chromosome tmp) {
+        RunResult results = tmp.getResults();
+
+        // scored before its inputs are adjusted, as in the generational engine
+        add(results, 1);
+        int size = this.population.size() + 1;
+        double fitnessValue = this.ga.fitnessValue(results, this.sumCoins / size, this.sumSpeed / size,
+                this.sumScore / size, this.sumPos / size);
+
+        this.ga.adjustInputs(tmp, results);
+        tmp.setFitnessValue(Double.isNaN(fitnessValue) ? 0 : fitnessValue);
+
+        if (this.population.size() < this.populationSize) {
+            this.population.add(tmp);
+        } else {
+            int replaced = this.replaceWorst ? worst() : tournamentLoser(this.ga.getRandom());
+            add(this.population.get(replaced).getResults(), -1);
+            this.population.set(replaced, tmp);
+        }
+
+        if (this.bestFit == null || this.bestFit.getFitnessValue() < tmp.getFitnessValue()) {
+            this.bestFit = tmp;
+        }
+    }
+
+    /**
+     * Adds the results of a chromosome to the sums of the population, or removes them with a sign of -1.
+     */
+    private void add(RunResult results, int sign) {
+        // a run ending with all of its time left has no speed, it would spoil the sums for good
+        double speed = this.ga.speedOf(results);
+        speed = Double.isNaN(speed) || Double.isInfinite(speed) ? 0 : speed;
+
+        this.sumCoins += sign * results.getCoins();
+        this.sumSpeed += sign * speed;
+        this.sumScore += sign * results.getScore();
+        this.sumPos += sign * results.getX_pos();
+    }
+
+    /**
+     * Finds the least fit chromosome of the population.
+     */
+    private int worst() {
+        int worst = 0;
+
+        for (int i = 1; i < this.population.size(); i++) {
+            if (this.population.get(i).getFitnessValue() < this.population.get(worst).getFitnessValue()) {
+                worst = i;
+            }
+        }
+        return worst;
+    }
+
+    /**
+     * Finds the least fit chromosome of a tournament between random chromosomes of the population.
+     */
+    private int tournamentLoser(SplittableRandom random) {
+        int loser = random.nextInt(this.population.size());
+
+        for (int i = 1; i < this.tournamentSize; i++) {
+            int rival = random.nextInt(this.population.size());
+
+            if (this.population.get(rival).getFitnessValue() < this.population.get(loser).getFitnessValue()) {
+                loser = rival;
+            }
+        }
+        return loser;
+    }
+
+    /**
+     * Scores the population again with its current averages and stores it as a generation.
+     */
+    private void endGeneration() {
+        int size = this.population.size();
+        double coins = this.sumCoins / size;
+        double speed = this.sumSpeed / size;
+        double score = this.sumScore / size;
+        double pos = this.sumPos / size;
+
+        this.bestFit = null;
+        for (Chromosome tmp : this.population) {
+            double fitnessValue = this.ga.fitnessValue(tmp.getResults(), coins, speed, score, pos);
+            tmp.setFitnessValue(Double.isNaN(fitnessValue) ? 0 : fitnessValue);
+
+            if (this.bestFit == null || this.bestFit.getFitnessValue() < tmp.getFitnessValue()) {
+                this.bestFit = tmp;
+            }
+        }
+
+        Generation generation = new Generation(this.config);
+        generation.setGeneration(new ArrayList<>(this.population));
+
+        GenerationStats stats = generation.getStats();
+        System.out.println("\nGeneration " + this.ga.getNumGen() + " (" + this.evaluations + " evaluations)");
+        System.out.println("Average X_POS: " + stats.getPos().getMean());
+        System.out.println("Average Speed: " + stats.getSpeed().getMean());
+        System.out.println("Average Fitness: " + stats.getFitness().getMean());
+        System.out.println("Fitness - " + stats.getFitness());
+
+        this.ga.storeGeneration(generation);
+    }
+
+    /**
+     * A getter method that returns the best chromosome of the population
+     *
+     * @return the best chromosome, or null if no chromosome was evaluated
+     */
+    public Chromosome getBestFit() {
+        return this.bestFit;
+    }
+
+    /**
+     * A getter method that returns the number of chromosomes evaluated
+     *
+     * @return the number of evaluations
+     */
+    public long getEvaluations() {
+        return this.evaluations;
+    }
+
+    /**
+     * A getter method that returns the seed of this session
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return this.ga.getSeed();
+    }
+
+    /**
+     * This method stores the generations still waiting to be written and closes the session files.
+     */
+    public void close() {
+        this.ga.close(this.termination.getReason());
+    }
+}
+
+enum ENGINE_TYPES {
+    GENERATIONAL,
+    STEADY_STATE
+}
+
+enum REPLACEMENT_TYPES {
+    WORST,
+    TOURNAMENT
+}
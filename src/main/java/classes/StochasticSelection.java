@@ -0,0 +1,40 @@
+package classes;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class that selects parents by stochastic universal sampling. Every parent of a generation is chosen at once, in a
+ * single pass over the roulette wheel with evenly spaced pointers, which keeps the number of times a chromosome
+ * is chosen close to its expected value.
+ */
+public class StochasticSelection implements Selection {
+
+    private List<Chromosome> generation;
+    private int[] selected;
+    private int next;
+
+    @Override
+    public void prepare(List<Chromosome> generation, int picks, SplittableRandom random) {
+        this.generation = generation;
+        this.selected = new RouletteWheel(generation).sample(Math.max(1, picks), random.nextDouble());
+        this.next = 0;
+
+        // the pointers are sorted, shuffle them so the parents are paired randomly
+        for (int i = this.selected.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = this.selected[i];
+            this.selected[i] = this.selected[j];
+            this.selected[j] = tmp;
+        }
+    }
+
+    @Override
+    public Chromosome select(SplittableRandom random) {
+        // more parents than expected may be needed when clones are rejected
+        if (this.next == this.selected.length) {
+            this.next = 0;
+        }
+        return this.generation.get(this.selected[this.next++]);
+    }
+}
@@ -0,0 +1,126 @@
+package classes;
+
+import luigi.RunResult;
+
+/**
+ * Class that decides when a session stops before its last generation. The policies are combined, the first one
+ * reached stops the session:
+ * <ul>
+ * <li>the best chromosome reaches a fitness value, or a run reaches the flag with enough time left;</li>
+ * <li>no better chromosome is found in a number of generations;</li>
+ * <li>a number of seconds passed since the session started;</li>
+ * <li>a number of chromosomes were evaluated.</li>
+ * </ul>
+ * Once reached, the session stays stopped, so every island of a session stops on the same reason.
+ */
+public class Termination {
+
+    private final double stopFitness;
+    private final boolean stopOnFlag;
+    private final int stopFlagTimeLeft;
+    private final int stopStagnantGenerations;
+    private final long stopAfterNanos;
+    private final long stopAfterEvaluations;
+    private final long start;
+
+    // the inputs of the best chromosome, and the generation they were found in
+    private Genome bestInputs;
+    private int bestGen;
+
+    private volatile String reason;
+
+    /**
+     * This method creates a new instance of the <i>Termination class</i>, the session starting now.
+     *
+     * @param config the configuration with the termination policies.
+     */
+    public Termination(GaConfig config) {
+        this.stopFitness = config.getStopFitness();
+        this.stopOnFlag = config.isStopOnFlag();
+        this.stopFlagTimeLeft = config.getStopFlagTimeLeft();
+        this.stopStagnantGenerations = config.getStopStagnantGenerations();
+        this.stopAfterNanos = config.getStopAfterSeconds() * 1_000_000_000L;
+        this.stopAfterEvaluations = config.getStopAfterEvaluations();
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * This method checks every policy against the best chromosome of the session, remembering the reason of the
+     * first one reached. It may be called many times for the same generation (eg: by each island).
+     *
+     * @param bestFit     the best chromosome of the session, or null if none was evaluated.
+     * @param evaluations the number of chromosomes evaluated in the session.
+     * @param numGen      the number of the generation just evaluated.
+     * @return true if the session should stop.
+     */
+    public synchronized boolean shouldStop(Chromosome bestFit, long evaluations, int numGen) {
+        if (this.reason != null) {
+            return true;
+        }
+
+        String reason = null;
+        if (bestFit != null) {
+            // the best chromosome changes only when a fitter one is found
+            if (this.bestInputs == null || !this.bestInputs.equals(bestFit.getInputs())) {
+                this.bestInputs = bestFit.getInputs();
+                this.bestGen = numGen;
+            }
+
+            RunResult results = bestFit.getResults();
+
+            if (this.stopFitness > 0 && bestFit.getFitnessValue() >= this.stopFitness) {
+                reason = "Best fitness " + bestFit.getFitnessValue() + " reached the target of " + this.stopFitness;
+            } else if (this.stopOnFlag && results != null && Boolean.parseBoolean(results.getFlag_get())
+                    && results.getTime_left() >= this.stopFlagTimeLeft) {
+                reason = "The best chromosome reached the flag with " + results.getTime_left() + " time left";
+            } else if (this.stopStagnantGenerations > 0 && numGen - this.bestGen >= this.stopStagnantGenerations) {
+                reason = "No better chromosome in " + this.stopStagnantGenerations + " generations, since generation "
+                        + this.bestGen;
+            }
+        }
+
+        if (reason == null && this.stopAfterNanos > 0 && System.nanoTime() - this.start >= this.stopAfterNanos) {
+            reason = "The deadline of " + this.stopAfterNanos / 1_000_000_000L + " seconds was reached";
+        }
+        if (reason == null && this.stopAfterEvaluations > 0 && evaluations >= this.stopAfterEvaluations) {
+            reason = evaluations + " chromosomes evaluated, the maximum is " + this.stopAfterEvaluations;
+        }
+
+        if (reason == null) {
+            return false;
+        }
+
+        this.reason = reason + " (generation " + numGen + ")";
+        System.out.println("\nStopping the session -> " + this.reason + ".");
+        return true;
+    }
+
+    /**
+     * This method records that the session reached its last generation, unless a policy stopped it before.
+     *
+     * @param generations the number of the last generation.
+     */
+    public synchronized void finish(int generations) {
+        if (this.reason == null) {
+            this.reason = "The last generation (" + generations + ") was reached";
+        }
+    }
+
+    /**
+     * This method tells whether a policy was reached.
+     *
+     * @return true if the session should stop.
+     */
+    public boolean isStopped() {
+        return this.reason != null;
+    }
+
+    /**
+     * A getter method that returns why the session stopped
+     *
+     * @return the reason, or null if the session didn't stop
+     */
+    public String getReason() {
+        return this.reason;
+    }
+}
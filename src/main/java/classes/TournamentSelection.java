@@ -0,0 +1,42 @@
+package classes;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class that selects as parent the fittest of a few chromosomes picked at random. The size of the tournament sets
+ * the selection pressure.
+ */
+public class TournamentSelection implements Selection {
+
+    private final int size;
+    private List<Chromosome> generation;
+
+    /**
+     * This method creates a new instance of the <i>TournamentSelection class</i>.
+     *
+     * @param size the number of chromosomes in each tournament.
+     */
+    public TournamentSelection(int size) {
+        this.size = Math.max(1, size);
+    }
+
+    @Override
+    public void prepare(List<Chromosome> generation, int picks, SplittableRandom random) {
+        this.generation = generation;
+    }
+
+    @Override
+    public Chromosome select(SplittableRandom random) {
+        Chromosome winner = this.generation.get(random.nextInt(this.generation.size()));
+
+        for (int i = 1; i < this.size; i++) {
+            Chromosome tmp = this.generation.get(random.nextInt(this.generation.size()));
+
+            if (tmp.getFitnessValue() > winner.getFitnessValue()) {
+                winner = tmp;
+            }
+        }
+        return winner;
+    }
+}
@@ -0,0 +1,94 @@
+package classes;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Class that selects parents at random among the fittest part of the generation. The fittest chromosomes are found
+ * by partial selection, without sorting the whole generation.
+ */
+public class TruncationSelection implements Selection {
+
+    private final double rate;
+    private List<Chromosome> generation;
+    private int[] positions;
+    private int top;
+
+    /**
+     * This method creates a new instance of the <i>TruncationSelection class</i>.
+     *
+     * @param rate the fraction of the generation allowed to breed, between 0.00 and 1.00.
+     */
+    public TruncationSelection(double rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void prepare(List<Chromosome> generation, int picks, SplittableRandom random) {
+        this.generation = generation;
+        this.top = Math.max(1, Math.min(generation.size(), (int) Math.ceil(generation.size() * this.rate)));
+
+        if (this.positions == null || this.positions.length != generation.size()) {
+            this.positions = new int[generation.size()];
+        }
+        for (int i = 0; i < this.positions.length; i++) {
+            this.positions[i] = i;
+        }
+
+        partition(this.top, random);
+    }
+
+    @Override
+    public Chromosome select(SplittableRandom random) {
+        return this.generation.get(this.positions[random.nextInt(this.top)]);
+    }
+
+    /**
+     * Moves the <i>k</i> fittest chromosomes to the first positions (quickselect).
+     */
+    private void partition(int k, SplittableRandom random) {
+        int low = 0;
+        int high = this.positions.length - 1;
+
+        while (low < high) {
+            int pivot = partition(low, high, low + random.nextInt(high - low + 1));
+
+            if (pivot == k - 1 || pivot == k) {
+                return;
+            } else if (pivot < k) {
+                low = pivot + 1;
+            } else {
+                high = pivot - 1;
+            }
+        }
+    }
+
+    /**
+     * Partitions a range around a pivot, the fittest chromosomes first.
+     *
+     * @return the final position of the pivot.
+     */
+    private int partition(int low, int high, int pivot) {
+        double pivotFitness = fitness(pivot);
+        swap(pivot, high);
+
+        int store = low;
+        for (int i = low; i < high; i++) {
+            if (fitness(i) > pivotFitness) {
+                swap(i, store++);
+            }
+        }
+        swap(store, high);
+        return store;
+    }
+
+    private double fitness(int i) {
+        return this.generation.get(this.positions[i]).getFitnessValue();
+    }
+
+    private void swap(int i, int j) {
+        int tmp = this.positions[i];
+        this.positions[i] = this.positions[j];
+        this.positions[j] = tmp;
+    }
+}
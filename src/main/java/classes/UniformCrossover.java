@@ -0,0 +1,46 @@
+package classes;
+
+import java.util.SplittableRandom;
+
+/**
+ * Class that swaps each block of the parents with a given probability. The blocks the longer parent has past the
+ * end of the shorter one are kept by the first child.
+ */
+public class UniformCrossover implements CrossoverOperator {
+
+    private final double rate;
+
+    /**
+     * This method creates a new instance of the <i>UniformCrossover class</i>.
+     *
+     * @param rate the probability of swapping a block, between 0.00 and 1.00.
+     */
+    public UniformCrossover(double rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void cross(Genome parent1, Genome parent2, Genome.Builder child1, Genome.Builder child2, SplittableRandom random) {
+        int blocks1 = parent1.blockCount();
+        int blocks2 = parent2.blockCount();
+
+        for (int i = 0; i < blocks2; i++) {
+            boolean swap = random.nextDouble() < this.rate;
+
+            if (i >= blocks1) {
+                // blocks past the end of the first parent are added to the first child
+                if (swap) {
+                    child1.addBlocks(parent2, i, i + 1);
+                }
+                child2.addBlocks(parent2, i, i + 1);
+            } else if (swap) {
+                child1.addBlocks(parent2, i, i + 1);
+                child2.addBlocks(parent1, i, i + 1);
+            } else {
+                child1.addBlocks(parent1, i, i + 1);
+                child2.addBlocks(parent2, i, i + 1);
+            }
+        }
+        child1.addBlocks(parent1, Math.min(blocks1, blocks2), blocks1);
+    }
+}